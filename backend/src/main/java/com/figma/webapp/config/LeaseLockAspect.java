@@ -0,0 +1,51 @@
+package com.figma.webapp.config;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.figma.webapp.service.JobLeaseService;
+import com.figma.webapp.service.LeaseLocked;
+
+/**
+ * Wraps @LeaseLocked methods so they only run while holding their job lease. Ordered ahead of
+ * the transaction interceptor (which runs last), so the lease is held for the whole of any @Transactional job.
+ * Skipped runs return null, so the annotation belongs on void methods such as @Scheduled jobs.
+ */
+@Aspect
+@Component
+@Order(0)
+public class LeaseLockAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaseLockAspect.class);
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Around("@annotation(leaseLocked)")
+    public Object runWithLease(ProceedingJoinPoint joinPoint, LeaseLocked leaseLocked) throws Throwable {
+        if (!jobLeaseService.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        Optional<JobLeaseService.Lease> lease = jobLeaseService.tryAcquire(leaseLocked.name(), Duration.ofSeconds(leaseLocked.leaseSeconds()));
+        if (lease.isEmpty()) {
+            logger.debug("Skipping {}: lease {} is held elsewhere", joinPoint.getSignature().toShortString(), leaseLocked.name());
+            return null;
+        }
+
+        try {
+            return joinPoint.proceed();
+        } finally {
+            jobLeaseService.release(lease.get());
+        }
+    }
+}
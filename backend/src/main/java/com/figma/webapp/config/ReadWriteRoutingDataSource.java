@@ -0,0 +1,131 @@
+package com.figma.webapp.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.figma.webapp.service.ResourceVersions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Sends read-only service transactions to the read replica and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy, so the choice is made at the first statement,
+ * once the transaction's read-only flag and name are known.
+ *
+ * A transaction goes to the replica only if all of these hold:
+ * - it is read-only and was started by a service method, i.e. @Transactional(readOnly = true)
+ *   in com.figma.webapp.service; repository calls made on their own (index reconciliation,
+ *   token checks, log polling) stay on the primary
+ * - the replica's measured lag is within app.datasource.replica.max-lag-ms
+ * - the client has not committed a write within app.datasource.replica.pin-window-ms, on this
+ *   or any other instance, so clients always read their own writes; see ReadYourWritesFilter
+ * - if the request is answered with an ETag, none of the tagged scopes changed within the lag
+ *   tolerance, whether by a write here or one the sync picked up from another instance; a body
+ *   read from a replica that has not caught up must not be tagged as current
+ *
+ * Entities read from the replica are not put into the second-level cache, which is shared with
+ * transactions that read the primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    // Spring names declarative transactions after the class and method that started them
+    private static final String SERVICE_PACKAGE = "com.figma.webapp.service.";
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private final Counter replicaCounter;
+    private final Counter writeCounter;
+    private final Counter notEligibleCounter;
+    private final Counter lagCounter;
+    private final Counter recentChangeCounter;
+    private final Counter pinnedCounter;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor lagMonitor, ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                                      MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.entityManagerFactory = entityManagerFactory;
+
+        replicaCounter = routed(meterRegistry, REPLICA, "read-only");
+        writeCounter = routed(meterRegistry, PRIMARY, "write");
+        notEligibleCounter = routed(meterRegistry, PRIMARY, "not-eligible");
+        lagCounter = routed(meterRegistry, PRIMARY, "replica-lag");
+        recentChangeCounter = routed(meterRegistry, PRIMARY, "recent-change");
+        pinnedCounter = routed(meterRegistry, PRIMARY, "pinned-client");
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("db.routing")
+                .description("Physical connections handed out per target database")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            notEligibleCounter.increment();
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinAfterCommit();
+            writeCounter.increment();
+            return PRIMARY;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (name == null || !name.startsWith(SERVICE_PACKAGE)) {
+            notEligibleCounter.increment();
+            return PRIMARY;
+        }
+        if (!lagMonitor.isWithinTolerance()) {
+            lagCounter.increment();
+            return PRIMARY;
+        }
+        if (System.currentTimeMillis() - ResourceVersions.taggedChangeAt() <= Math.max(lagMonitor.getMaxLagMs(), 0)) {
+            recentChangeCounter.increment();
+            return PRIMARY;
+        }
+        if (ReadYourWritesFilter.isPinned()) {
+            pinnedCounter.increment();
+            return PRIMARY;
+        }
+        disableCachePuts();
+        replicaCounter.increment();
+        return REPLICA;
+    }
+
+    private void pinAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // The window starts when the write becomes visible, not when the transaction began
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ReadYourWritesFilter.wrote();
+            }
+        });
+    }
+
+    private void disableCachePuts() {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        EntityManagerHolder holder = factory != null
+                ? (EntityManagerHolder) TransactionSynchronizationManager.getResource(factory)
+                : null;
+        if (holder != null) {
+            holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+}
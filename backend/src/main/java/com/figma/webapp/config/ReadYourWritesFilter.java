@@ -0,0 +1,116 @@
+package com.figma.webapp.config;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Carries a client's last write between requests, so its reads stay on the primary for
+ * app.datasource.replica.pin-window-ms afterwards on whichever instance serves them.
+ *
+ * When a request commits a write, ReadWriteRoutingDataSource calls wrote(), which sets the
+ * last_write cookie to the commit time; the cookie expires with the pin window. Every instance
+ * reads the cookie back here and isPinned() keeps that client's reads on the primary until the
+ * window has passed. Registered by ReplicaDataSourceConfig ahead of Spring Security.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "last_write";
+
+    private static final ThreadLocal<Pin> current = new ThreadLocal<>();
+
+    private final long pinWindowMs;
+
+    public ReadYourWritesFilter(long pinWindowMs) {
+        this.pinWindowMs = pinWindowMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        current.set(new Pin(request, response, lastWrite(request), pinWindowMs));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            current.remove();
+        }
+    }
+
+    /**
+     * Whether the client of the current request wrote within the pin window, either in an
+     * earlier request or earlier in this one. False outside of a request.
+     */
+    static boolean isPinned() {
+        Pin pin = current.get();
+        if (pin == null || pin.lastWrite <= 0) {
+            return false;
+        }
+        // The cookie was set by any instance; allow for clocks that are slightly apart
+        return Math.abs(System.currentTimeMillis() - pin.lastWrite) < pin.windowMs;
+    }
+
+    // Called after a write of the current request committed
+    static void wrote() {
+        Pin pin = current.get();
+        if (pin == null) {
+            return;
+        }
+        pin.lastWrite = System.currentTimeMillis();
+        // One cookie per response; a streamed or already flushed response can no longer take it
+        if (pin.cookieSet || pin.response.isCommitted()) {
+            return;
+        }
+        pin.cookieSet = true;
+        String path = pin.request.getContextPath();
+        ResponseCookie cookie = ResponseCookie.from(COOKIE, Long.toString(pin.lastWrite))
+                .maxAge(Duration.ofMillis(pin.windowMs).toSeconds() + 1)
+                .path(StringUtils.hasText(path) ? path : "/")
+                .httpOnly(true)
+                .secure(pin.request.isSecure())
+                .sameSite("Lax")
+                .build();
+        pin.response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private static long lastWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static final class Pin {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long windowMs;
+        private long lastWrite;
+        private boolean cookieSet;
+
+        private Pin(HttpServletRequest request, HttpServletResponse response, long lastWrite, long windowMs) {
+            this.request = request;
+            this.response = response;
+            this.lastWrite = lastWrite;
+            this.windowMs = windowMs;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.figma.webapp.config;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Measures how far the read replica trails the primary with a heartbeat row per instance:
+ * each check reads this instance's row from the replica, then writes the current time to the
+ * primary. A replica that already shows the previous beat is within one check interval of the
+ * primary and counts as caught up; otherwise it is at least as far behind as the beat it shows.
+ *
+ * Until a beat has made the round trip, and whenever the replica cannot be read, the lag is
+ * unknown and reads stay on the primary. Created by ReplicaDataSourceConfig.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Rows of instances that stopped beating longer ago than this are removed
+    private static final Duration STALE_HEARTBEAT = Duration.ofDays(1);
+
+    private final JdbcTemplate primary;
+
+    private final JdbcTemplate replica;
+
+    private final long maxLagMs;
+
+    private final long checkIntervalMs;
+
+    private final String instance = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+
+    // Last beat written to the primary; only touched by the scheduler thread
+    private LocalDateTime lastBeat;
+
+    // -1 while unknown
+    private volatile long lagMs = -1;
+
+    private volatile long measuredAt;
+
+    private volatile boolean replicaReadable = true;
+
+    public ReplicaLagMonitor(JdbcTemplate primary, JdbcTemplate replica, long maxLagMs, long checkIntervalMs,
+                             MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMs = maxLagMs;
+        this.checkIntervalMs = checkIntervalMs;
+        Gauge.builder("db.replica.lag", this, monitor -> monitor.lagMs < 0 ? Double.NaN : monitor.lagMs)
+                .description("Measured replication lag of the read replica")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the replica may serve reads now. A negative app.datasource.replica.max-lag-ms
+     * turns the check off, e.g. for two unconnected local databases.
+     */
+    public boolean isWithinTolerance() {
+        if (maxLagMs < 0) {
+            return true;
+        }
+        // A measurement the scheduler has not refreshed for several intervals proves nothing
+        long age = System.currentTimeMillis() - measuredAt;
+        return lagMs >= 0 && lagMs <= maxLagMs && age <= 5 * checkIntervalMs;
+    }
+
+    public long getMaxLagMs() {
+        return maxLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        if (maxLagMs < 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        measure(now);
+        beat(now);
+    }
+
+    private void measure(LocalDateTime now) {
+        try {
+            LocalDateTime seen = replica.query("SELECT beat_at FROM replica_heartbeats WHERE instance = ?",
+                    rs -> rs.next() ? rs.getObject(1, LocalDateTime.class) : null, instance);
+            if (lastBeat == null || seen == null) {
+                lagMs = -1;
+            } else {
+                lagMs = seen.isBefore(lastBeat) ? Duration.between(seen, now).toMillis() : 0;
+            }
+            measuredAt = System.currentTimeMillis();
+            if (!replicaReadable) {
+                replicaReadable = true;
+                logger.info("Read replica is reachable again");
+            }
+        } catch (RuntimeException e) {
+            lagMs = -1;
+            if (replicaReadable) {
+                replicaReadable = false;
+                logger.warn("Cannot read the replica heartbeat, reads go to the primary: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void beat(LocalDateTime now) {
+        try {
+            if (lastBeat == null) {
+                primary.update("DELETE FROM replica_heartbeats WHERE beat_at < ?", now.minus(STALE_HEARTBEAT));
+            }
+            int updated = primary.update("UPDATE replica_heartbeats SET beat_at = ? WHERE instance = ?", now, instance);
+            if (updated == 0) {
+                primary.update("INSERT INTO replica_heartbeats (instance, beat_at) VALUES (?, ?)", instance, now);
+            }
+            lastBeat = now;
+        } catch (RuntimeException e) {
+            // Without a current reference the next measurement is unknown, which keeps reads on the primary
+            lastBeat = null;
+            logger.warn("Failed to write the replica heartbeat: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.figma.webapp.config;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.figma.webapp.entity.Activity;
+import com.figma.webapp.entity.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Hibernate second-level cache on Caffeine through JCache, for Activity and User rows and the
+ * username to user id mapping. Disabled with app.l2-cache.enabled=false.
+ *
+ * Regions are created here with explicit bounds and a TTL; Hibernate fails at startup if an
+ * entity names a region that is not listed. Other instances' writes are evicted through the
+ * cache_invalidations log, see EntityCacheSync; the TTL only bounds staleness if that fails.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Value("${app.l2-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.l2-cache.activities.max-size:20000}")
+    private long activitiesMaxSize;
+
+    @Value("${app.l2-cache.users.max-size:5000}")
+    private long usersMaxSize;
+
+    @Value("${app.l2-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(MeterRegistry meterRegistry) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            if (!enabled) {
+                return;
+            }
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, createCacheManager(meterRegistry));
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private CacheManager createCacheManager(MeterRegistry meterRegistry) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        Map<String, Long> regions = Map.of(
+                Activity.CACHE_REGION, activitiesMaxSize,
+                User.CACHE_REGION, usersMaxSize,
+                User.USERNAME_CACHE_REGION, usersMaxSize);
+        regions.forEach((region, maxSize) -> {
+            // The provider is shared per class loader, so a restarted context finds its old caches
+            if (cacheManager.getCache(region) != null) {
+                cacheManager.destroyCache(region);
+            }
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+            // Hibernate stores immutable cache entries, so copying them on every read buys nothing
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+
+            // cache.gets{result=hit|miss}, cache.puts and cache.removals per region
+            JCacheMetrics.monitor(meterRegistry, cacheManager.getCache(region));
+            Gauge.builder("cache.hit.ratio", meterRegistry, registry -> hitRatio(registry, region))
+                    .description("Share of second-level cache lookups answered from the cache")
+                    .tag("cache", region)
+                    .register(meterRegistry);
+        });
+        return cacheManager;
+    }
+
+    private static double hitRatio(MeterRegistry registry, String region) {
+        double hits = count(registry, region, "hit");
+        double total = hits + count(registry, region, "miss");
+        return total > 0 ? hits / total : Double.NaN;
+    }
+
+    private static double count(MeterRegistry registry, String region, String result) {
+        Meter meter = registry.find("cache.gets").tags("cache", region, "result", result).meter();
+        if (meter == null) {
+            return 0;
+        }
+        double count = 0;
+        for (Measurement measurement : meter.measure()) {
+            count += measurement.getValue();
+        }
+        return count;
+    }
+}
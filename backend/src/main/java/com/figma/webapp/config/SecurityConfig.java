@@ -1,6 +1,7 @@
 package com.figma.webapp.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,9 +29,12 @@ public class SecurityConfig {
     @Autowired
     private JwtRequestFilter jwtRequestFilter;
 
+    // Static so the encoder does not depend on this configuration's field injection, which is
+    // still in progress when the JWT filter's dependencies ask for it. Raising the strength makes
+    // existing hashes get upgraded on the next successful login.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public static PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int bcryptStrength) {
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -43,9 +47,11 @@ public class SecurityConfig {
         http.csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.disable()) // CORS is now handled by WebConfig
                 .authorizeHttpRequests(authz -> authz
-                .requestMatchers("/health", "/register", "/login", "/forgot-password", "/reset-password", "/validate-reset-token/**").permitAll()
+                .requestMatchers("/health", "/register", "/login", "/token/refresh", "/forgot-password", "/reset-password", "/validate-reset-token/**").permitAll()
                 .requestMatchers("/files/**").permitAll()
-                .requestMatchers("/actuator/**").permitAll()
+                // Only health is public; metrics expose throttling, lease and routing internals
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").hasRole("MANAGER")
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/taskstest/**", "/tasks/**").permitAll()
                 .anyRequest().authenticated()
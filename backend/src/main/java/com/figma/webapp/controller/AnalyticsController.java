@@ -4,10 +4,12 @@ import com.figma.webapp.entity.Activity;
 import com.figma.webapp.service.ActivityService;
 import com.figma.webapp.service.EventService;
 import com.figma.webapp.service.InteractionService;
+import com.figma.webapp.service.ResourceVersions;
 import com.figma.webapp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -29,8 +31,16 @@ public class AnalyticsController {
     @Autowired
     private ActivityService activityService;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAnalytics() {
+    public ResponseEntity<Map<String, Object>> getAnalytics(WebRequest webRequest) {
+        // Unchanged since the client's copy: 304 without running any of the counts
+        if (webRequest.checkNotModified(resourceVersions.analyticsTag())) {
+            return null;
+        }
+
         long totalInteractions = interactionService.getTotalInteractions();
         long clickInteractions = interactionService.getInteractionCountByType("click");
         long hoverInteractions = interactionService.getInteractionCountByType("hover");
@@ -55,6 +65,6 @@ public class AnalyticsController {
         analytics.put("inProgressActivities", inProgressActivities);
         analytics.put("lastActivity", LocalDateTime.now());
 
-        return ResponseEntity.ok(analytics);
+        return ResponseEntity.ok().cacheControl(ResourceVersions.REVALIDATE).body(analytics);
     }
 }
\ No newline at end of file
@@ -13,8 +13,10 @@ import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -30,8 +32,14 @@ import com.figma.webapp.dto.UserLoginDto;
 import com.figma.webapp.dto.UserRegistrationDto;
 import com.figma.webapp.dto.UserResponseDto;
 import com.figma.webapp.entity.User;
+import com.figma.webapp.exception.PasswordHashingBusyException;
 import com.figma.webapp.repository.UserRepository;
+import com.figma.webapp.security.AuthenticatedUser;
 import com.figma.webapp.security.JwtUtil;
+import com.figma.webapp.security.LoginRateLimiter;
+import com.figma.webapp.security.TokenRevocationService;
+import com.figma.webapp.service.ActivityService;
+import com.figma.webapp.service.RefreshTokenService;
 import com.figma.webapp.service.UserService;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -50,6 +58,18 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private ActivityService activityService;
+
     @Value("${app.upload.path:uploads/profiles}")
     private String uploadPath;
 
@@ -65,6 +85,8 @@ public class AuthController {
             response.put("user", user);
             
             return new ResponseEntity<>(response, HttpStatus.CREATED);
+        } catch (PasswordHashingBusyException e) {
+            return passwordHashingBusyResponse(e);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("error", e.getMessage());
@@ -74,13 +96,21 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> loginUser(@Valid @RequestBody UserLoginDto loginDto) {
+    public ResponseEntity<Map<String, Object>> loginUser(@Valid @RequestBody UserLoginDto loginDto, HttpServletRequest request) {
+        // Throttle before touching the database or the password encoder
+        String clientIp = request.getRemoteAddr();
+        long retryAfter = loginRateLimiter.tryAcquire("login", clientIp, loginDto.getUsername());
+        if (retryAfter > 0) {
+            return tooManyAttemptsResponse(retryAfter);
+        }
+        
         try {
             System.out.println("Login attempt for username: " + loginDto.getUsername());
             Optional<User> userOptional = userService.findByUsernameOrEmail(loginDto.getUsername(), loginDto.getUsername());
             
             if (userOptional.isEmpty()) {
                 System.out.println("User not found: " + loginDto.getUsername());
+                loginRateLimiter.recordFailure("login", clientIp, loginDto.getUsername());
                 Map<String, Object> response = new HashMap<>();
                 response.put("error", "Invalid credentials");
                 return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
@@ -91,19 +121,24 @@ public class AuthController {
             
             if (!userService.validatePassword(loginDto.getPassword(), user.getPasswordHash())) {
                 System.out.println("Password validation failed for user: " + user.getUsername());
+                loginRateLimiter.recordFailure("login", clientIp, loginDto.getUsername());
                 Map<String, Object> response = new HashMap<>();
                 response.put("error", "Invalid credentials");
                 return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
             }
             
             System.out.println("Login successful for user: " + user.getUsername());
+            loginRateLimiter.recordSuccess("login", loginDto.getUsername());
+            userService.upgradePasswordHashIfNeeded(user, loginDto.getPassword());
             
-            String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
+            String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name(), user.getId(), user.getTokenVersion());
+            String refreshToken = refreshTokenService.issue(user);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Login successful");
             response.put("token", token);
+            response.put("refreshToken", refreshToken);
             response.put("user", Map.of(
                 "id", user.getId(),
                 "username", user.getUsername(),
@@ -113,6 +148,8 @@ public class AuthController {
             ));
             
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return passwordHashingBusyResponse(e);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("error", "Internal server error during login");
@@ -121,8 +158,66 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/token/refresh")
+    public ResponseEntity<Map<String, Object>> refreshToken(@RequestBody Map<String, String> request) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            String refreshToken = request.get("refreshToken");
+            
+            if (refreshToken == null || refreshToken.trim().isEmpty()) {
+                response.put("error", "Refresh token is required");
+                return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+            }
+            
+            Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(refreshToken);
+            if (rotation.isEmpty()) {
+                response.put("error", "Invalid or expired refresh token");
+                return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+            }
+            
+            User user = rotation.get().user();
+            response.put("success", true);
+            response.put("token", jwtUtil.generateToken(user.getUsername(), user.getRole().name(), user.getId(), user.getTokenVersion()));
+            response.put("refreshToken", rotation.get().refreshToken());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("error", "Internal server error during token refresh");
+            response.put("timestamp", LocalDateTime.now());
+            return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, Object>> logout(@RequestBody(required = false) Map<String, String> request,
+                                                      @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Map<String, Object> response = new HashMap<>();
+        if (currentUser == null) {
+            response.put("error", "Authorization token required");
+            return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        }
+        
+        // Tokens issued before jti was added cannot be revoked individually and simply expire
+        if (currentUser.getTokenId() != null) {
+            tokenRevocationService.revoke(currentUser.getTokenId(), currentUser.getTokenExpiresAt());
+        }
+        
+        // Otherwise /token/refresh would hand the logged-out client a new access token. With the
+        // refresh token only its session ends; without it every session of the user does.
+        String refreshToken = request != null ? request.get("refreshToken") : null;
+        if (currentUser.getUserId() != null) {
+            boolean revoked = refreshToken != null && !refreshToken.isBlank()
+                    && refreshTokenService.revokeFamily(refreshToken, currentUser.getUserId());
+            if (!revoked) {
+                refreshTokenService.revokeAllForUser(currentUser.getUserId());
+            }
+        }
+        response.put("success", true);
+        response.put("message", "Logged out successfully");
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/forgot-password")
-    public ResponseEntity<Map<String, Object>> forgotPassword(@RequestBody Map<String, String> request) {
+    public ResponseEntity<Map<String, Object>> forgotPassword(@RequestBody Map<String, String> request, HttpServletRequest httpRequest) {
         Map<String, Object> response = new HashMap<>();
         try {
             String emailOrUsername = request.get("emailOrUsername");
@@ -132,6 +227,11 @@ public class AuthController {
                 return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
             }
             
+            long retryAfter = loginRateLimiter.tryAcquire("forgot-password", httpRequest.getRemoteAddr(), emailOrUsername);
+            if (retryAfter > 0) {
+                return tooManyAttemptsResponse(retryAfter);
+            }
+            
             boolean userExists = userService.checkUserExists(emailOrUsername);
             
             if (userExists) {
@@ -152,8 +252,14 @@ public class AuthController {
     }
 
     @PostMapping("/reset-password")
-    public ResponseEntity<Map<String, Object>> resetPassword(@RequestBody Map<String, String> request) {
+    public ResponseEntity<Map<String, Object>> resetPassword(@RequestBody Map<String, String> request, HttpServletRequest httpRequest) {
         Map<String, Object> response = new HashMap<>();
+        String clientIp = httpRequest.getRemoteAddr();
+        long retryAfter = loginRateLimiter.tryAcquire("reset-password", clientIp, null);
+        if (retryAfter > 0) {
+            return tooManyAttemptsResponse(retryAfter);
+        }
+        
         try {
             String token = request.get("token");
             String newPassword = request.get("newPassword");
@@ -175,9 +281,12 @@ public class AuthController {
                 response.put("message", "Password has been reset successfully. You can now sign in with your new password.");
                 return ResponseEntity.ok(response);
             } else {
+                loginRateLimiter.recordFailure("reset-password", clientIp, null);
                 response.put("error", "Invalid or expired reset token");
                 return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
             }
+        } catch (PasswordHashingBusyException e) {
+            return passwordHashingBusyResponse(e);
         } catch (Exception e) {
             response.put("error", "An error occurred while resetting your password");
             response.put("timestamp", LocalDateTime.now());
@@ -214,7 +323,7 @@ public class AuthController {
             @RequestParam("email") String email,
             @RequestParam(value = "avatar", required = false) MultipartFile avatar,
             @RequestParam(value = "removeProfilePicture", required = false) String removeProfilePicture,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         Map<String, Object> response = new HashMap<>();
         try {
@@ -224,26 +333,26 @@ public class AuthController {
             System.out.println("Email: " + email);
             System.out.println("Remove profile picture: " + removeProfilePicture);
             
-            // Get current user from JWT token
-            String bearerToken = request.getHeader("Authorization");
-            String token = null;
-            if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-                token = bearerToken.substring(7);
-            }
-            
-            if (token == null) {
+            // Current user comes from the JWT verified by JwtRequestFilter
+            if (currentUser == null) {
                 response.put("error", "Authorization token required");
                 return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
             }
             
-            String currentUsername = jwtUtil.extractUsername(token);
-            User user = userService.findByUsername(currentUsername);
+            // Resolved by id: the token's username may already belong to someone else after a rename
+            User user = currentUser.getUserId() != null
+                    ? userService.findById(currentUser.getUserId()).orElse(null)
+                    : userService.findByUsername(currentUser.getUsername());
             
             if (user == null) {
                 response.put("error", "User not found");
                 return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
             }
             
+            // The username and email may change, so drop the cached copy under the old keys
+            userService.evictCachedUser(user);
+            String previousUsername = user.getUsername();
+            
             // Update user fields
             user.setUsername(username);
             user.setEmail(email);
@@ -280,8 +389,13 @@ public class AuthController {
                 }
             }
             
-            // Save updated user through repository
-            User updatedUser = userRepository.save(user);
+            // A new username ends every session issued under the old one; the caller gets a fresh token below
+            boolean renamed = !username.equals(previousUsername);
+            User updatedUser = renamed ? userService.saveAndRevokeTokens(user) : userRepository.save(user);
+            userService.evictCachedUser(updatedUser);
+            if (renamed) {
+                activityService.renameUserInActivities(updatedUser.getId(), updatedUser.getUsername());
+            }
             
             // Create response
             UserResponseDto userResponse = new UserResponseDto();
@@ -310,6 +424,10 @@ public class AuthController {
             response.put("success", true);
             response.put("message", "Profile updated successfully");
             response.put("user", userMap);
+            if (renamed) {
+                response.put("token", jwtUtil.generateToken(updatedUser.getUsername(), updatedUser.getRole().name(),
+                        updatedUser.getId(), updatedUser.getTokenVersion()));
+            }
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
@@ -318,4 +436,22 @@ public class AuthController {
             return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    private ResponseEntity<Map<String, Object>> tooManyAttemptsResponse(long retryAfterSeconds) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("error", "Too many attempts, please try again later");
+        response.put("timestamp", LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> passwordHashingBusyResponse(PasswordHashingBusyException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("error", e.getMessage());
+        response.put("timestamp", LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
 }
\ No newline at end of file
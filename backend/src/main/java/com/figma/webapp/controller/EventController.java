@@ -2,12 +2,15 @@ package com.figma.webapp.controller;
 
 import com.figma.webapp.dto.EventDto;
 import com.figma.webapp.service.EventService;
+import com.figma.webapp.service.ResourceVersions;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -18,18 +21,48 @@ import java.util.Map;
 @RequestMapping("/events")
 public class EventController {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @GetMapping
-    public ResponseEntity<List<EventDto>> getAllEvents(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+    public ResponseEntity<List<EventDto>> getAllEvents(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date, WebRequest webRequest) {
+        // Unchanged since the client's copy: 304 without running the query
+        if (webRequest.checkNotModified(resourceVersions.eventsTag())) {
+            return null;
+        }
+
         List<EventDto> events;
         if (date != null) {
             events = eventService.getEventsByDate(date);
         } else {
             events = eventService.getAllEvents();
         }
-        return ResponseEntity.ok(events);
+        return ResponseEntity.ok().cacheControl(ResourceVersions.REVALIDATE).body(events);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchEvents(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (q.isBlank() || page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("error", "A query and a page size between 1 and " + MAX_SEARCH_PAGE_SIZE + " are required"));
+        }
+
+        Page<EventDto> pageResult = eventService.searchEvents(q, page, size);
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("items", pageResult.getContent());
+        body.put("page", pageResult.getNumber());
+        body.put("size", pageResult.getSize());
+        body.put("totalPages", pageResult.getTotalPages());
+        body.put("totalElements", pageResult.getTotalElements());
+        return ResponseEntity.ok(body);
     }
 
     @PostMapping
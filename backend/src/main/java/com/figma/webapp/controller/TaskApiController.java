@@ -9,8 +9,11 @@ import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,14 +24,23 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.figma.webapp.dto.ActivityDto;
+import com.figma.webapp.dto.BulkAssignResultDto;
+import com.figma.webapp.dto.BulkTaskUpdateDto;
+import com.figma.webapp.dto.CalendarDaySummaryDto;
 import com.figma.webapp.dto.CalendarTaskDto;
+import com.figma.webapp.dto.CursorPageDto;
 import com.figma.webapp.dto.TaskAssignmentDto;
+import com.figma.webapp.dto.TaskSearchHitDto;
 import com.figma.webapp.entity.Activity;
 import com.figma.webapp.entity.User;
-import com.figma.webapp.security.JwtUtil;
+import com.figma.webapp.security.AuthenticatedUser;
 import com.figma.webapp.service.ActivityService;
+import com.figma.webapp.service.ResourceVersions;
+import com.figma.webapp.service.TaskChangeStream;
 import com.figma.webapp.service.UserService;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -37,6 +49,16 @@ import jakarta.servlet.http.HttpServletRequest;
 @RequestMapping("/tasks")
 public class TaskApiController {
 
+    private static final int MAX_SUMMARY_DAYS = 366;
+
+    private static final int MAX_BULK_ASSIGNMENTS = 500;
+
+    private static final int MAX_BULK_UPDATE_IDS = 2000;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     @Autowired
     private ActivityService activityService;
 
@@ -44,7 +66,10 @@ public class TaskApiController {
     private UserService userService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private TaskChangeStream taskChangeStream;
 
     @GetMapping("/test")
     public ResponseEntity<Map<String, String>> test() {
@@ -53,10 +78,9 @@ public class TaskApiController {
 
     @PostMapping("/assign")
     @PreAuthorize("hasRole('MANAGER')")
-    public ResponseEntity<Map<String, Object>> assignTask(@RequestBody TaskAssignmentDto taskDto, HttpServletRequest request) {
+    public ResponseEntity<Map<String, Object>> assignTask(@RequestBody TaskAssignmentDto taskDto, @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            String token = extractTokenFromRequest(request);
-            String managerUsername = jwtUtil.extractUsername(token);
+            String managerUsername = currentUser.getUsername();
             
             User manager = userService.findByUsername(managerUsername);
             User assignedUser = userService.findByUsername(taskDto.getAssignedUser());
@@ -86,46 +110,93 @@ public class TaskApiController {
         }
     }
 
+    @PostMapping("/assign/bulk")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<Map<String, Object>> bulkAssignTasks(@RequestBody List<TaskAssignmentDto> assignments, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            if (assignments == null || assignments.isEmpty() || assignments.size() > MAX_BULK_ASSIGNMENTS) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Between 1 and " + MAX_BULK_ASSIGNMENTS + " assignments are required"));
+            }
+
+            List<BulkAssignResultDto> results = activityService.bulkAssign(currentUser.getUsername(), assignments);
+            long assigned = results.stream().filter(BulkAssignResultDto::isSuccess).count();
+
+            Map<String, Object> body = new HashMap<>();
+            body.put("message", assigned + " of " + results.size() + " tasks assigned");
+            body.put("assigned", assigned);
+            body.put("failed", results.size() - assigned);
+            body.put("results", results);
+            return ResponseEntity.ok(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to assign tasks: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/calendar")
     public ResponseEntity<List<CalendarTaskDto>> getCalendarTasks(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            HttpServletRequest request) {
+            @RequestParam(required = false) Integer descriptionLength,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            WebRequest webRequest) {
+        // /tasks/** is permitted anonymously; the team calendar is not
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
         try {
-            String token = extractTokenFromRequest(request);
-            String username = jwtUtil.extractUsername(token);
-            String role = jwtUtil.extractRole(token);
-            
-            // Get all tasks in the date range to show team activity
-            List<Activity> activities = activityService.findActivitiesByDateRange(startDate, endDate);
-            
-            List<CalendarTaskDto> calendarTasks = activities.stream()
-                .map(activity -> new CalendarTaskDto(
-                    activity.getId(),
-                    activity.getAssignedUserName(),
-                    activity.getDescription(),
-                    activity.getStatus().toString(),
-                    activity.getPriority().toString(),
-                    activity.getDate()
-                ))
-                .collect(Collectors.toList());
+            // Unchanged since the client's copy: 304 without running the query
+            if (webRequest.checkNotModified(resourceVersions.tasksTag())) {
+                return null;
+            }
+
+            // Get all tasks in the date range to show team activity; descriptionLength=0 omits descriptions
+            List<CalendarTaskDto> calendarTasks = activityService.getCalendarTasks(startDate, endDate, descriptionLength);
             
-            return ResponseEntity.ok(calendarTasks);
+            return ResponseEntity.ok().cacheControl(ResourceVersions.REVALIDATE).body(calendarTasks);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(List.of());
         }
     }
 
+    @GetMapping("/calendar/summary")
+    public ResponseEntity<?> getCalendarSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean byUser,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+        try {
+            if (endDate.isBefore(startDate) || startDate.plusDays(MAX_SUMMARY_DAYS - 1).isBefore(endDate)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Date range must be between 1 and " + MAX_SUMMARY_DAYS + " days"));
+            }
+
+            // Counts per day by status and priority; open a day with /by-date for its tasks
+            List<CalendarDaySummaryDto> summary = activityService.getCalendarSummary(startDate, endDate, byUser);
+            return ResponseEntity.ok(summary);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/in-progress")
     public ResponseEntity<Map<String, Object>> getInProgress(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            HttpServletRequest request
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
         try {
-            String token = extractTokenFromRequest(request);
-            String username = jwtUtil.extractUsername(token);
-            String role = jwtUtil.extractRole(token);
+            String username = currentUser.getUsername();
+            String role = currentUser.getRole();
+
+            if (cursor != null) {
+                int limit = pageSize(size);
+                return ResponseEntity.ok(cursorBody("MANAGER".equalsIgnoreCase(role)
+                        ? activityService.getInProgressActivitiesAfter(cursor, limit)
+                        : activityService.getInProgressActivitiesForUserAfter(username, cursor, limit), limit));
+            }
 
             Page<ActivityDto> pageResult;
             if ("MANAGER".equalsIgnoreCase(role)) {
@@ -149,17 +220,17 @@ public class TaskApiController {
     @GetMapping("/by-date")
     public ResponseEntity<List<ActivityDto>> getByDate(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            HttpServletRequest request
+            @RequestParam(required = false) Integer descriptionLength,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
         try {
-            String token = extractTokenFromRequest(request);
-            String username = jwtUtil.extractUsername(token);
-            String role = jwtUtil.extractRole(token);
+            String username = currentUser.getUsername();
+            String role = currentUser.getRole();
 
             if ("MANAGER".equalsIgnoreCase(role)) {
-                return ResponseEntity.ok(activityService.getActivitiesByDate(date));
+                return ResponseEntity.ok(activityService.getActivitiesByDate(date, descriptionLength));
             }
-            return ResponseEntity.ok(activityService.findActivitiesByUserAndDate(username, date));
+            return ResponseEntity.ok(activityService.findActivitiesByUserAndDate(username, date, descriptionLength));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(List.of());
         }
@@ -171,20 +242,16 @@ public class TaskApiController {
             @RequestParam(defaultValue = "0") int userTasksPage,
             @RequestParam(defaultValue = "0") int otherTasksPage,
             @RequestParam(defaultValue = "10") int size,
-            HttpServletRequest request
+            @RequestParam(required = false) Integer descriptionLength,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
         try {
-            String token = extractTokenFromRequest(request);
-            String username = jwtUtil.extractUsername(token);
+            String username = currentUser.getUsername();
 
-            // Get user's tasks for the date
-            List<ActivityDto> userTasks = activityService.findActivitiesByUserAndDate(username, date);
-            
-            // Get other users' tasks for the date
-            List<ActivityDto> allTasks = activityService.getActivitiesByDate(date);
-            List<ActivityDto> otherTasks = allTasks.stream()
-                .filter(task -> !task.getAssignedUser().equals(username))
-                .collect(Collectors.toList());
+            // One read of the day's tasks, split into the user's own and everyone else's
+            Map<Boolean, List<ActivityDto>> tasksByOwner = activityService.getActivitiesByDatePartitioned(username, date, descriptionLength);
+            List<ActivityDto> userTasks = tasksByOwner.get(true);
+            List<ActivityDto> otherTasks = tasksByOwner.get(false);
 
             // Apply pagination
             int userTasksStart = userTasksPage * size;
@@ -225,11 +292,23 @@ public class TaskApiController {
     public ResponseEntity<Map<String, Object>> getUserTasks(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            HttpServletRequest request
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            WebRequest webRequest
     ) {
         try {
-            String token = extractTokenFromRequest(request);
-            String username = jwtUtil.extractUsername(token);
+            String username = currentUser.getUsername();
+
+            // Unchanged since the client's copy: 304 without running the query
+            if (webRequest.checkNotModified(resourceVersions.userTasksTag(username))) {
+                return null;
+            }
+
+            if (cursor != null) {
+                int limit = pageSize(size);
+                return ResponseEntity.ok().cacheControl(ResourceVersions.REVALIDATE)
+                        .body(cursorBody(activityService.getActivitiesForUserAfter(username, cursor, limit), limit));
+            }
 
             Page<ActivityDto> pageResult = activityService.getActivitiesForUserPaged(username, page, size);
 
@@ -239,7 +318,7 @@ public class TaskApiController {
             body.put("size", pageResult.getSize());
             body.put("totalPages", pageResult.getTotalPages());
             body.put("totalElements", pageResult.getTotalElements());
-            return ResponseEntity.ok(body);
+            return ResponseEntity.ok().cacheControl(ResourceVersions.REVALIDATE).body(body);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -250,11 +329,10 @@ public class TaskApiController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            HttpServletRequest request
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
         try {
-            String token = extractTokenFromRequest(request);
-            String username = jwtUtil.extractUsername(token);
+            String username = currentUser.getUsername();
 
             Page<ActivityDto> pageResult = activityService.getActivitiesForUserByDatePaged(username, date, page, size);
 
@@ -270,12 +348,65 @@ public class TaskApiController {
         }
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) String user,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Integer descriptionLength,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
+    ) {
+        try {
+            if (q.isBlank() || page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+                return ResponseEntity.badRequest().body(Map.of("error", "A query and a page size between 1 and " + MAX_SEARCH_PAGE_SIZE + " are required"));
+            }
+
+            // Staff only ever search their own tasks
+            String assignedUser = currentUser.isManager() ? user : currentUser.getUsername();
+            Activity.ActivityStatus taskStatus = status != null ? Activity.ActivityStatus.valueOf(status) : null;
+
+            Page<TaskSearchHitDto> pageResult = activityService.searchTasks(q, assignedUser, taskStatus, startDate, endDate, page, size, descriptionLength);
+
+            Map<String, Object> body = new HashMap<>();
+            body.put("items", pageResult.getContent());
+            body.put("page", pageResult.getNumber());
+            body.put("size", pageResult.getSize());
+            body.put("totalPages", pageResult.getTotalPages());
+            body.put("totalElements", pageResult.getTotalElements());
+            return ResponseEntity.ok(body);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Server-Sent Events feed of task changes, replacing repeated polling of the calendar and
+     * list views. Events are "created", "updated" and "deleted" deltas plus "resync", sent on
+     * connect and whenever the client fell behind, after which the client should re-fetch.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTaskChanges(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // Stops nginx-style proxies from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(taskChangeStream.subscribe(currentUser.getUsername()));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ActivityDto> getTaskById(@PathVariable Long id, HttpServletRequest request) {
+    public ResponseEntity<ActivityDto> getTaskById(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            String token = extractTokenFromRequest(request);
-            String username = jwtUtil.extractUsername(token);
-            String role = jwtUtil.extractRole(token);
+            String username = currentUser.getUsername();
+            String role = currentUser.getRole();
 
             Activity activity = activityService.findById(id);
             if (activity == null) {
@@ -295,9 +426,7 @@ public class TaskApiController {
             activityDto.setStatus(activity.getStatus());
             activityDto.setPriority(activity.getPriority());
             // Add assigner information
-            if (activity.getAssignedBy() != null) {
-                activityDto.setAssignedBy(activity.getAssignedBy().getUsername());
-            }
+            activityDto.setAssignedBy(activity.getAssignedByName());
 
             return ResponseEntity.ok(activityDto);
         } catch (Exception e) {
@@ -305,6 +434,41 @@ public class TaskApiController {
         }
     }
 
+    @PutMapping("/bulk")
+    public ResponseEntity<Map<String, Object>> bulkUpdateTasks(@RequestBody BulkTaskUpdateDto updateDto, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            List<Long> ids = updateDto.getIds();
+            if (ids == null || ids.isEmpty() || ids.size() > MAX_BULK_UPDATE_IDS) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Between 1 and " + MAX_BULK_UPDATE_IDS + " task ids are required"));
+            }
+            if (updateDto.getStatus() == null && updateDto.getPriority() == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Status or priority is required"));
+            }
+
+            // Managers may change any task; staff may only change the status of their own tasks
+            if (!currentUser.isManager() && updateDto.getPriority() != null) {
+                return ResponseEntity.status(403).body(Map.of("error", "Only managers can change task priority"));
+            }
+            String restrictToUser = currentUser.isManager() ? null : currentUser.getUsername();
+
+            Activity.ActivityStatus status = updateDto.getStatus() != null ? Activity.ActivityStatus.valueOf(updateDto.getStatus()) : null;
+            Activity.ActivityPriority priority = updateDto.getPriority() != null ? Activity.ActivityPriority.valueOf(updateDto.getPriority()) : null;
+
+            long requested = ids.stream().distinct().count();
+            int updated = activityService.bulkUpdateStatusAndPriority(ids, status, priority, restrictToUser);
+
+            Map<String, Object> body = new HashMap<>();
+            body.put("message", updated + " of " + requested + " tasks updated");
+            body.put("requested", requested);
+            body.put("updated", updated);
+            // Ids that do not exist or belong to someone else
+            body.put("skipped", requested - updated);
+            return ResponseEntity.ok(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to update tasks: " + e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('MANAGER')")
     public ResponseEntity<ActivityDto> updateTask(@PathVariable Long id, @RequestBody ActivityDto taskDto, HttpServletRequest request) {
@@ -337,9 +501,7 @@ public class TaskApiController {
             responseDto.setStatus(updatedActivity.getStatus());
             responseDto.setPriority(updatedActivity.getPriority());
             // Add assigner information
-            if (updatedActivity.getAssignedBy() != null) {
-                responseDto.setAssignedBy(updatedActivity.getAssignedBy().getUsername());
-            }
+            responseDto.setAssignedBy(updatedActivity.getAssignedByName());
 
             return ResponseEntity.ok(responseDto);
         } catch (Exception e) {
@@ -399,11 +561,16 @@ public class TaskApiController {
     public ResponseEntity<Map<String, Object>> getTaskHistory(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            HttpServletRequest request
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
         try {
-            String token = extractTokenFromRequest(request);
-            String username = jwtUtil.extractUsername(token);
+            String username = currentUser.getUsername();
+
+            if (cursor != null) {
+                int limit = pageSize(size);
+                return ResponseEntity.ok(cursorBody(activityService.getHistoryActivitiesForUserAfter(username, cursor, limit), limit));
+            }
 
             // Get past tasks (with due dates before today) for the current user
             Page<ActivityDto> pageResult = activityService.getHistoryActivitiesForUserPaged(username, page, size);
@@ -425,11 +592,16 @@ public class TaskApiController {
             @RequestParam String date,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            HttpServletRequest request
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
         try {
-            String token = extractTokenFromRequest(request);
-            String username = jwtUtil.extractUsername(token);
+            String username = currentUser.getUsername();
+
+            if (cursor != null) {
+                int limit = pageSize(size);
+                return ResponseEntity.ok(cursorBody(activityService.getOthersIncomingTasksAfter(username, date, cursor, limit), limit));
+            }
 
             // Get tasks assigned to other users (not current user) with due date today or in future
             Page<ActivityDto> pageResult = activityService.getOthersIncomingTasks(username, date, page, size);
@@ -446,11 +618,21 @@ public class TaskApiController {
         }
     }
 
-    private String extractTokenFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
-        }
-        return null;
+    // Cursor pages read size + 1 rows, so the size is kept to 1..MAX_CURSOR_PAGE_SIZE
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    /**
+     * Body for keyset-paged responses. Passing {@code cursor} (empty for the first page)
+     * switches an endpoint from offset paging to seek paging: no COUNT query is run and
+     * {@code nextCursor} replaces the page/total fields. It is null on the last page.
+     */
+    private Map<String, Object> cursorBody(CursorPageDto<ActivityDto> cursorPage, int size) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("items", cursorPage.getItems());
+        body.put("size", size);
+        body.put("nextCursor", cursorPage.getNextCursor());
+        return body;
     }
-}
\ No newline at end of file
+}
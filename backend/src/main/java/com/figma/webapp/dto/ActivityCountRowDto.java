@@ -0,0 +1,53 @@
+package com.figma.webapp.dto;
+
+import java.time.LocalDate;
+
+import com.figma.webapp.entity.Activity.ActivityPriority;
+import com.figma.webapp.entity.Activity.ActivityStatus;
+
+/**
+ * One group from the calendar summary query: how many activities share a date,
+ * status and priority, and optionally an assignee.
+ */
+public class ActivityCountRowDto {
+
+    private final LocalDate date;
+    private final ActivityStatus status;
+    private final ActivityPriority priority;
+    private final String assignedUser;
+    private final long count;
+
+    // Constructors
+    public ActivityCountRowDto(LocalDate date, ActivityStatus status, ActivityPriority priority, long count) {
+        this(date, status, priority, null, count);
+    }
+
+    public ActivityCountRowDto(LocalDate date, ActivityStatus status, ActivityPriority priority, String assignedUser, long count) {
+        this.date = date;
+        this.status = status;
+        this.priority = priority;
+        this.assignedUser = assignedUser;
+        this.count = count;
+    }
+
+    // Getters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public ActivityStatus getStatus() {
+        return status;
+    }
+
+    public ActivityPriority getPriority() {
+        return priority;
+    }
+
+    public String getAssignedUser() {
+        return assignedUser;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
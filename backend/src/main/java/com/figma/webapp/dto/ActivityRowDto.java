@@ -0,0 +1,70 @@
+package com.figma.webapp.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.figma.webapp.entity.Activity.ActivityPriority;
+import com.figma.webapp.entity.Activity.ActivityStatus;
+
+/**
+ * Read-only row for task list queries, built directly by JPQL constructor expressions
+ * in ActivityRepository. Only the columns the list views need are selected, and the
+ * rows are never attached to the persistence context.
+ */
+public class ActivityRowDto {
+
+    private final Long id;
+    private final String assignedUser;
+    private final String assignedBy;
+    private final LocalDate date;
+    private final LocalDateTime createdAt;
+    private final String description;
+    private final ActivityStatus status;
+    private final ActivityPriority priority;
+
+    // Constructors
+    public ActivityRowDto(Long id, String assignedUser, String assignedBy, LocalDate date, LocalDateTime createdAt,
+                          String description, ActivityStatus status, ActivityPriority priority) {
+        this.id = id;
+        this.assignedUser = assignedUser;
+        this.assignedBy = assignedBy;
+        this.date = date;
+        this.createdAt = createdAt;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getAssignedUser() {
+        return assignedUser;
+    }
+
+    public String getAssignedBy() {
+        return assignedBy;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public ActivityStatus getStatus() {
+        return status;
+    }
+
+    public ActivityPriority getPriority() {
+        return priority;
+    }
+}
@@ -0,0 +1,71 @@
+package com.figma.webapp.dto;
+
+public class BulkAssignResultDto {
+
+    private int index;
+    private boolean success;
+    private Long taskId;
+    private String assignedTo;
+    private String error;
+
+    // Constructors
+    public BulkAssignResultDto() {}
+
+    public static BulkAssignResultDto failed(int index, String assignedTo, String error) {
+        BulkAssignResultDto result = new BulkAssignResultDto();
+        result.setIndex(index);
+        result.setAssignedTo(assignedTo);
+        result.setError(error);
+        return result;
+    }
+
+    public static BulkAssignResultDto assigned(int index, String assignedTo, Long taskId) {
+        BulkAssignResultDto result = new BulkAssignResultDto();
+        result.setIndex(index);
+        result.setAssignedTo(assignedTo);
+        result.setSuccess(true);
+        result.setTaskId(taskId);
+        return result;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getAssignedTo() {
+        return assignedTo;
+    }
+
+    public void setAssignedTo(String assignedTo) {
+        this.assignedTo = assignedTo;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,47 @@
+package com.figma.webapp.dto;
+
+import java.util.List;
+
+public class BulkTaskUpdateDto {
+
+    private List<Long> ids;
+
+    // Either may be omitted to leave that field unchanged
+    private String status;
+
+    private String priority;
+
+    // Constructors
+    public BulkTaskUpdateDto() {}
+
+    public BulkTaskUpdateDto(List<Long> ids, String status, String priority) {
+        this.ids = ids;
+        this.status = status;
+        this.priority = priority;
+    }
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+}
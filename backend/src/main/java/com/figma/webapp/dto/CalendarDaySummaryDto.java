@@ -0,0 +1,63 @@
+package com.figma.webapp.dto;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class CalendarDaySummaryDto {
+
+    private LocalDate date;
+    private long total;
+    private Map<String, Long> byStatus = new LinkedHashMap<>();
+    private Map<String, Long> byPriority = new LinkedHashMap<>();
+    // Only filled when a per-user breakdown is requested
+    private Map<String, Long> byUser;
+
+    // Constructors
+    public CalendarDaySummaryDto() {}
+
+    public CalendarDaySummaryDto(LocalDate date) {
+        this.date = date;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<String, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public void setByPriority(Map<String, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+
+    public Map<String, Long> getByUser() {
+        return byUser;
+    }
+
+    public void setByUser(Map<String, Long> byUser) {
+        this.byUser = byUser;
+    }
+}
@@ -0,0 +1,52 @@
+package com.figma.webapp.dto;
+
+/**
+ * One delta on the /tasks/stream feed. CREATED and UPDATED carry the task as it now is and
+ * can be applied as an upsert by id; DELETED carries only the id.
+ */
+public class TaskChangeDto {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+
+    private String type;
+
+    private Long id;
+
+    private ActivityDto task;
+
+    // Constructors
+    public TaskChangeDto() {}
+
+    public TaskChangeDto(String type, Long id, ActivityDto task) {
+        this.type = type;
+        this.id = id;
+        this.task = task;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ActivityDto getTask() {
+        return task;
+    }
+
+    public void setTask(ActivityDto task) {
+        this.task = task;
+    }
+}
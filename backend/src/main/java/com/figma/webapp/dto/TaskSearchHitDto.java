@@ -0,0 +1,34 @@
+package com.figma.webapp.dto;
+
+public class TaskSearchHitDto {
+
+    private ActivityDto task;
+
+    // Relevance score; only meaningful relative to other hits for the same query
+    private double score;
+
+    // Constructors
+    public TaskSearchHitDto() {}
+
+    public TaskSearchHitDto(ActivityDto task, double score) {
+        this.task = task;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public ActivityDto getTask() {
+        return task;
+    }
+
+    public void setTask(ActivityDto task) {
+        this.task = task;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,62 @@
+package com.figma.webapp.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.figma.webapp.entity.Activity.ActivityStatus;
+
+/**
+ * The columns the task search index needs from each activity: the text it tokenizes and the
+ * fields results can be filtered on. Built by JPQL constructor expressions in ActivityRepository.
+ */
+public class TaskSearchRowDto {
+
+    private final Long id;
+    private final String assignedUser;
+    private final String title;
+    private final String description;
+    private final LocalDate date;
+    private final ActivityStatus status;
+    private final LocalDateTime updatedAt;
+
+    // Constructors
+    public TaskSearchRowDto(Long id, String assignedUser, String title, String description, LocalDate date,
+                            ActivityStatus status, LocalDateTime updatedAt) {
+        this.id = id;
+        this.assignedUser = assignedUser;
+        this.title = title;
+        this.description = description;
+        this.date = date;
+        this.status = status;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getAssignedUser() {
+        return assignedUser;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public ActivityStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -3,6 +3,9 @@ package com.figma.webapp.entity;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,19 +19,40 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "activities")
+@Table(name = "activities", indexes = {
+    // Per-user finders: by date, date range, history and the user task list ordering
+    @Index(name = "idx_activities_user_date", columnList = "assigned_user_name, date, created_at DESC, id DESC"),
+    // Same access patterns when looked up by the assigned user's id
+    @Index(name = "idx_activities_assignee_date", columnList = "assigned_user_id, date, created_at DESC, id DESC"),
+    // Per-user status lists (e.g. in-progress for staff)
+    @Index(name = "idx_activities_user_status_date", columnList = "assigned_user_name, status, date, created_at DESC, id DESC"),
+    // Team-wide status lists and the overdue scan
+    @Index(name = "idx_activities_status_date", columnList = "status, date, created_at DESC, id DESC"),
+    // Team-wide date and date range lookups, calendar and others-incoming
+    @Index(name = "idx_activities_date", columnList = "date, created_at DESC, id DESC"),
+    // Latest-update polling by the index reconcilers and ETag sync
+    @Index(name = "idx_activities_updated_at", columnList = "updated_at")
+})
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Activity.CACHE_REGION)
 public class Activity {
 
+    public static final String CACHE_REGION = "activities";
+
+    // Pooled sequence ids (a table-backed sequence on MySQL) so inserts can be JDBC-batched;
+    // IDENTITY forces Hibernate to insert rows one at a time to learn each id
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activities_seq")
+    @SequenceGenerator(name = "activities_seq", sequenceName = "activities_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -43,6 +67,10 @@ public class Activity {
     @Column(name = "assigned_user_name")
     private String assignedUserName;
 
+    // Assigner's username, kept alongside the FK so list views never load the assigner
+    @Column(name = "assigned_by_name")
+    private String assignedByName;
+
     @NotBlank(message = "Title is required")
     @Column(nullable = false)
     private String title;
@@ -212,10 +240,20 @@ public class Activity {
 
     public void setAssignedBy(User assignedBy) {
         this.assignedBy = assignedBy;
+        // Automatically sync the username field
+        this.assignedByName = assignedBy != null ? assignedBy.getUsername() : null;
     }
 
     // Helper method to get assigned by user's username for backward compatibility
     public String getAssignedByName() {
-        return assignedBy != null ? assignedBy.getUsername() : null;
+        if (assignedByName != null) {
+            return assignedByName;
+        }
+        // Only fall back to the relationship if it is already loaded, so this never issues a query
+        return assignedBy != null && Hibernate.isInitialized(assignedBy) ? assignedBy.getUsername() : null;
+    }
+
+    public void setAssignedByName(String assignedByName) {
+        this.assignedByName = assignedByName;
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.figma.webapp.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "cache_invalidations", indexes = {
+    // Retention purge
+    @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at")
+})
+public class CacheInvalidation {
+
+    // Instances read the log in id order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hibernate entity name, i.e. the entity's class name
+    @Column(name = "entity_name", nullable = false, length = 128)
+    private String entityName;
+
+    // Null evicts every cached row of the entity, including its natural-id mappings
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    // Instance that made the change; it has already evicted its own copy
+    @Column(name = "origin", nullable = false, length = 32)
+    private String origin;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public CacheInvalidation() {}
+
+    public CacheInvalidation(String entityName, Long entityId, String origin, LocalDateTime createdAt) {
+        this.entityName = entityName;
+        this.entityId = entityId;
+        this.origin = origin;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
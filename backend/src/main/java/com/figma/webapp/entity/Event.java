@@ -11,7 +11,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+    // Latest-update polling by the search index reconciler and ETag sync
+    @Index(name = "idx_events_updated_at", columnList = "updated_at")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Event {
 
@@ -8,19 +8,24 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "password_reset_tokens")
+@Table(name = "password_reset_tokens", indexes = {
+    @Index(name = "idx_password_reset_tokens_user_live", columnList = "user_id, used, expiry_date"),
+    @Index(name = "idx_password_reset_tokens_expiry", columnList = "expiry_date")
+})
 public class PasswordResetToken {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(nullable = false, unique = true)
+    // SHA-256 hex digest of the emailed token; the raw value is never stored
+    @Column(nullable = false, unique = true, length = 64)
     private String token;
     
     @ManyToOne(fetch = FetchType.LAZY)
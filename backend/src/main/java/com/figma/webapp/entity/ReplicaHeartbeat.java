@@ -0,0 +1,52 @@
+package com.figma.webapp.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Heartbeat row written to the primary by each instance and read back from the read replica to
+ * measure replication lag. Written and read with plain JDBC against a specific pool; mapped so
+ * that ddl-auto creates the table in development.
+ */
+@Entity
+@Table(name = "replica_heartbeats")
+public class ReplicaHeartbeat {
+
+    // Random id of the writing instance
+    @Id
+    @Column(name = "instance", length = 32)
+    private String instance;
+
+    // Written from the instance's own clock, so lag is measured against the same clock
+    @Column(name = "beat_at", nullable = false)
+    private LocalDateTime beatAt;
+
+    // Constructors
+    public ReplicaHeartbeat() {}
+
+    public ReplicaHeartbeat(String instance, LocalDateTime beatAt) {
+        this.instance = instance;
+        this.beatAt = beatAt;
+    }
+
+    // Getters and Setters
+    public String getInstance() {
+        return instance;
+    }
+
+    public void setInstance(String instance) {
+        this.instance = instance;
+    }
+
+    public LocalDateTime getBeatAt() {
+        return beatAt;
+    }
+
+    public void setBeatAt(LocalDateTime beatAt) {
+        this.beatAt = beatAt;
+    }
+}
@@ -0,0 +1,78 @@
+package com.figma.webapp.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "row_deletions", indexes = {
+    // Latest entry and the entries after a given id, per table
+    @Index(name = "idx_row_deletions_table_id", columnList = "table_name, id"),
+    // Retention purge
+    @Index(name = "idx_row_deletions_deleted_at", columnList = "deleted_at")
+})
+public class RowDeletion {
+
+    // Readers follow the log in id order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Table the row was deleted from, e.g. "activities"
+    @Column(name = "table_name", nullable = false, length = 64)
+    private String tableName;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Constructors
+    public RowDeletion() {}
+
+    public RowDeletion(String tableName, Long entityId, LocalDateTime deletedAt) {
+        this.tableName = tableName;
+        this.entityId = entityId;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
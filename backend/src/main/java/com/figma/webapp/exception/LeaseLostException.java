@@ -0,0 +1,8 @@
+package com.figma.webapp.exception;
+
+public class LeaseLostException extends RuntimeException {
+
+    public LeaseLostException(String message) {
+        super(message);
+    }
+}
@@ -1,16 +1,23 @@
 package com.figma.webapp.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.figma.webapp.dto.ActivityCountRowDto;
+import com.figma.webapp.dto.ActivityRowDto;
+import com.figma.webapp.dto.TaskSearchRowDto;
 import com.figma.webapp.entity.Activity;
+import com.figma.webapp.entity.Activity.ActivityPriority;
 import com.figma.webapp.entity.Activity.ActivityStatus;
 import com.figma.webapp.entity.User;
 
@@ -71,14 +78,157 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
     List<Activity> findAllOrderByDateAscCreatedAtDesc();
     
     long countByStatus(ActivityStatus status);
+
+    @Query("SELECT MAX(a.updatedAt) FROM Activity a")
+    LocalDateTime findLatestUpdate();
+
+    @Query("SELECT MAX(a.id) FROM Activity a")
+    Long findMaxId();
+
+    // Calendar summary: one row per (date, status, priority[, assignee]) group within the range
+    @Query("SELECT new com.figma.webapp.dto.ActivityCountRowDto(a.date, a.status, a.priority, COUNT(a)) FROM Activity a "
+            + "WHERE a.date BETWEEN :startDate AND :endDate GROUP BY a.date, a.status, a.priority ORDER BY a.date ASC")
+    List<ActivityCountRowDto> countByDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.figma.webapp.dto.ActivityCountRowDto(a.date, a.status, a.priority, a.assignedUserName, COUNT(a)) FROM Activity a "
+            + "WHERE a.date BETWEEN :startDate AND :endDate GROUP BY a.date, a.status, a.priority, a.assignedUserName ORDER BY a.date ASC")
+    List<ActivityCountRowDto> countByDateBetweenPerUser(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Bulk status/priority change; a null value leaves that column as is. When assignedUserName is
+    // given only that user's tasks are touched. Auditing does not run for JPQL updates, hence updatedAt.
+    @Modifying
+    @Query("UPDATE Activity a SET a.status = COALESCE(:status, a.status), a.priority = COALESCE(:priority, a.priority), a.updatedAt = :now "
+            + "WHERE a.id IN :ids AND (:assignedUserName IS NULL OR a.assignedUserName = :assignedUserName)")
+    int bulkUpdateStatusAndPriority(@Param("ids") Collection<Long> ids, @Param("status") ActivityStatus status,
+                                    @Param("priority") ActivityPriority priority, @Param("assignedUserName") String assignedUserName,
+                                    @Param("now") LocalDateTime now);
+
+    // Keep the denormalized username columns in step when a user is renamed
+    @Modifying
+    @Query("UPDATE Activity a SET a.assignedUserName = :newUsername, a.updatedAt = :now WHERE a.assignedUser.id = :userId")
+    int updateAssignedUserName(@Param("userId") Long userId, @Param("newUsername") String newUsername, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Activity a SET a.assignedByName = :newUsername, a.updatedAt = :now WHERE a.assignedBy.id = :userId")
+    int updateAssignedByName(@Param("userId") Long userId, @Param("newUsername") String newUsername, @Param("now") LocalDateTime now);
     
     List<Activity> findByDateBetweenOrderByDateAsc(LocalDate startDate, LocalDate endDate);
     
-    // Query to find overdue tasks (date before today and not already completed)
-    @Query("SELECT a FROM Activity a WHERE a.date < :today AND a.status != :completedStatus ORDER BY a.date ASC")
-    List<Activity> findOverdueTasks(@Param("today") LocalDate today, @Param("completedStatus") ActivityStatus completedStatus);
+    String SEARCH_ROW_SELECT = "SELECT new com.figma.webapp.dto.TaskSearchRowDto(a.id, a.assignedUserName, a.title, "
+            + "a.description, a.date, a.status, a.updatedAt) FROM Activity a ";
+
+    // Loads the search index in id order, one bounded batch at a time
+    @Query(SEARCH_ROW_SELECT + "WHERE a.id > :afterId ORDER BY a.id")
+    List<TaskSearchRowDto> findSearchRowsAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query(SEARCH_ROW_SELECT + "WHERE a.id IN :ids")
+    List<TaskSearchRowDto> findSearchRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Overdue tasks (date before today and not already completed), walked in id order by the nightly job
+    @Query("SELECT a.id FROM Activity a WHERE a.date < :today AND a.status != :completedStatus AND a.id > :afterId ORDER BY a.id")
+    List<Long> findOverdueTaskIds(@Param("today") LocalDate today, @Param("completedStatus") ActivityStatus completedStatus,
+                                  @Param("afterId") Long afterId, Pageable limit);
+
+    @Query("SELECT COUNT(a) FROM Activity a WHERE a.date < :today AND a.status != :completedStatus")
+    long countOverdueTasks(@Param("today") LocalDate today, @Param("completedStatus") ActivityStatus completedStatus);
+
+    // Re-checks the overdue condition so rows changed since the id scan are left alone
+    @Modifying
+    @Query("UPDATE Activity a SET a.status = :completedStatus, a.updatedAt = :now "
+            + "WHERE a.id IN :ids AND a.date < :today AND a.status != :completedStatus")
+    int markOverdueTasksCompleted(@Param("ids") List<Long> ids, @Param("today") LocalDate today,
+                                  @Param("completedStatus") ActivityStatus completedStatus, @Param("now") LocalDateTime now);
     
     // Find tasks assigned to other users (not current user) with due date today or in future
-    @Query("SELECT a FROM Activity a WHERE a.assignedUser.username != :currentUsername AND a.date >= :fromDate ORDER BY a.date ASC, a.createdAt DESC")
+    @Query("SELECT a FROM Activity a WHERE a.assignedUserName != :currentUsername AND a.date >= :fromDate ORDER BY a.date ASC, a.createdAt DESC")
     Page<Activity> findOthersIncomingTasks(@Param("currentUsername") String currentUsername, @Param("fromDate") LocalDate fromDate, Pageable pageable);
-}
\ No newline at end of file
+    
+    // Lean projections for the list views. Each row carries only the columns the views render; names
+    // come from the denormalized username columns, so no users join is needed. The description is cut
+    // to :descriptionLength characters in the database (0 skips it entirely). Rows are plain DTOs, so
+    // nothing is added to the persistence context or dirty-checked.
+    String ROW_SELECT = "SELECT new com.figma.webapp.dto.ActivityRowDto(a.id, a.assignedUserName, a.assignedByName, a.date, a.createdAt, "
+            + "SUBSTRING(a.description, 1, :descriptionLength), a.status, a.priority) FROM Activity a ";
+
+    @Query(ROW_SELECT + "ORDER BY a.date ASC, a.createdAt DESC")
+    List<ActivityRowDto> findAllRows(@Param("descriptionLength") int descriptionLength);
+
+    @Query(ROW_SELECT + "WHERE a.assignedUserName = :assignedUserName ORDER BY a.date ASC, a.createdAt DESC")
+    List<ActivityRowDto> findRowsByAssignedUserName(@Param("assignedUserName") String assignedUserName, @Param("descriptionLength") int descriptionLength);
+
+    @Query(ROW_SELECT + "WHERE a.date = :date ORDER BY a.createdAt DESC")
+    List<ActivityRowDto> findRowsByDate(@Param("date") LocalDate date, @Param("descriptionLength") int descriptionLength);
+
+    @Query(ROW_SELECT + "WHERE a.assignedUserName = :assignedUserName AND a.date = :date ORDER BY a.createdAt DESC")
+    List<ActivityRowDto> findRowsByAssignedUserNameAndDate(@Param("assignedUserName") String assignedUserName, @Param("date") LocalDate date, @Param("descriptionLength") int descriptionLength);
+
+    @Query(ROW_SELECT + "WHERE a.id IN :ids")
+    List<ActivityRowDto> findRowsByIdIn(@Param("ids") Collection<Long> ids, @Param("descriptionLength") int descriptionLength);
+
+    // Rows written since a point in time, oldest change first; a range scan on idx_activities_updated_at
+    @Query(ROW_SELECT + "WHERE a.updatedAt > :since ORDER BY a.updatedAt ASC")
+    List<ActivityRowDto> findRowsUpdatedAfter(@Param("since") LocalDateTime since, @Param("descriptionLength") int descriptionLength, Pageable limit);
+
+    @Query(ROW_SELECT + "WHERE a.date BETWEEN :startDate AND :endDate ORDER BY a.date ASC")
+    List<ActivityRowDto> findRowsByDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("descriptionLength") int descriptionLength);
+
+    @Query(ROW_SELECT + "WHERE a.status = :status ORDER BY a.date ASC, a.createdAt DESC")
+    List<ActivityRowDto> findRowsByStatus(@Param("status") ActivityStatus status, @Param("descriptionLength") int descriptionLength);
+
+    @Query(value = ROW_SELECT + "WHERE a.status = :status ORDER BY a.date ASC, a.createdAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Activity a WHERE a.status = :status")
+    Page<ActivityRowDto> findRowPageByStatus(@Param("status") ActivityStatus status, @Param("descriptionLength") int descriptionLength, Pageable pageable);
+
+    @Query(value = ROW_SELECT + "WHERE a.assignedUserName = :assignedUserName ORDER BY a.date ASC, a.createdAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Activity a WHERE a.assignedUserName = :assignedUserName")
+    Page<ActivityRowDto> findRowPageByAssignedUserName(@Param("assignedUserName") String assignedUserName, @Param("descriptionLength") int descriptionLength, Pageable pageable);
+
+    @Query(value = ROW_SELECT + "WHERE a.assignedUserName = :assignedUserName AND a.status = :status ORDER BY a.date ASC, a.createdAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Activity a WHERE a.assignedUserName = :assignedUserName AND a.status = :status")
+    Page<ActivityRowDto> findRowPageByAssignedUserNameAndStatus(@Param("assignedUserName") String assignedUserName, @Param("status") ActivityStatus status, @Param("descriptionLength") int descriptionLength, Pageable pageable);
+
+    @Query(value = ROW_SELECT + "WHERE a.assignedUserName = :assignedUserName AND a.date = :date ORDER BY a.createdAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Activity a WHERE a.assignedUserName = :assignedUserName AND a.date = :date")
+    Page<ActivityRowDto> findRowPageByAssignedUserNameAndDate(@Param("assignedUserName") String assignedUserName, @Param("date") LocalDate date, @Param("descriptionLength") int descriptionLength, Pageable pageable);
+
+    @Query(value = ROW_SELECT + "WHERE a.assignedUserName = :assignedUserName AND a.date < :before ORDER BY a.date DESC, a.createdAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Activity a WHERE a.assignedUserName = :assignedUserName AND a.date < :before")
+    Page<ActivityRowDto> findHistoryRowPage(@Param("assignedUserName") String assignedUserName, @Param("before") LocalDate before, @Param("descriptionLength") int descriptionLength, Pageable pageable);
+
+    @Query(value = ROW_SELECT + "WHERE a.assignedUserName != :currentUsername AND a.date >= :fromDate ORDER BY a.date ASC, a.createdAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Activity a WHERE a.assignedUserName != :currentUsername AND a.date >= :fromDate")
+    Page<ActivityRowDto> findOthersIncomingRowPage(@Param("currentUsername") String currentUsername, @Param("fromDate") LocalDate fromDate, @Param("descriptionLength") int descriptionLength, Pageable pageable);
+
+    // Keyset (seek) pagination. Rows are ordered by the same keys as the offset queries above plus id
+    // as a tiebreaker; the "After" variants continue strictly after the given cursor row. Returning a
+    // List with a Pageable only applies LIMIT, so no COUNT query is issued.
+    @Query(ROW_SELECT + "WHERE a.assignedUserName = :assignedUserName ORDER BY a.date ASC, a.createdAt DESC, a.id DESC")
+    List<ActivityRowDto> findUserTasksFirstPage(@Param("assignedUserName") String assignedUserName, @Param("descriptionLength") int descriptionLength, Pageable limit);
+
+    @Query(ROW_SELECT + "WHERE a.assignedUserName = :assignedUserName AND (a.date > :date OR (a.date = :date AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)))) ORDER BY a.date ASC, a.createdAt DESC, a.id DESC")
+    List<ActivityRowDto> findUserTasksAfter(@Param("assignedUserName") String assignedUserName, @Param("date") LocalDate date, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, @Param("descriptionLength") int descriptionLength, Pageable limit);
+
+    @Query(ROW_SELECT + "WHERE a.status = :status ORDER BY a.date ASC, a.createdAt DESC, a.id DESC")
+    List<ActivityRowDto> findByStatusFirstPage(@Param("status") ActivityStatus status, @Param("descriptionLength") int descriptionLength, Pageable limit);
+
+    @Query(ROW_SELECT + "WHERE a.status = :status AND (a.date > :date OR (a.date = :date AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)))) ORDER BY a.date ASC, a.createdAt DESC, a.id DESC")
+    List<ActivityRowDto> findByStatusAfter(@Param("status") ActivityStatus status, @Param("date") LocalDate date, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, @Param("descriptionLength") int descriptionLength, Pageable limit);
+
+    @Query(ROW_SELECT + "WHERE a.assignedUserName = :assignedUserName AND a.status = :status ORDER BY a.date ASC, a.createdAt DESC, a.id DESC")
+    List<ActivityRowDto> findUserTasksByStatusFirstPage(@Param("assignedUserName") String assignedUserName, @Param("status") ActivityStatus status, @Param("descriptionLength") int descriptionLength, Pageable limit);
+
+    @Query(ROW_SELECT + "WHERE a.assignedUserName = :assignedUserName AND a.status = :status AND (a.date > :date OR (a.date = :date AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)))) ORDER BY a.date ASC, a.createdAt DESC, a.id DESC")
+    List<ActivityRowDto> findUserTasksByStatusAfter(@Param("assignedUserName") String assignedUserName, @Param("status") ActivityStatus status, @Param("date") LocalDate date, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, @Param("descriptionLength") int descriptionLength, Pageable limit);
+
+    @Query(ROW_SELECT + "WHERE a.assignedUserName = :assignedUserName AND a.date < :before ORDER BY a.date DESC, a.createdAt DESC, a.id DESC")
+    List<ActivityRowDto> findHistoryFirstPage(@Param("assignedUserName") String assignedUserName, @Param("before") LocalDate before, @Param("descriptionLength") int descriptionLength, Pageable limit);
+
+    @Query(ROW_SELECT + "WHERE a.assignedUserName = :assignedUserName AND a.date < :before AND (a.date < :date OR (a.date = :date AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)))) ORDER BY a.date DESC, a.createdAt DESC, a.id DESC")
+    List<ActivityRowDto> findHistoryAfter(@Param("assignedUserName") String assignedUserName, @Param("before") LocalDate before, @Param("date") LocalDate date, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, @Param("descriptionLength") int descriptionLength, Pageable limit);
+
+    @Query(ROW_SELECT + "WHERE a.assignedUserName != :currentUsername AND a.date >= :fromDate ORDER BY a.date ASC, a.createdAt DESC, a.id DESC")
+    List<ActivityRowDto> findOthersIncomingFirstPage(@Param("currentUsername") String currentUsername, @Param("fromDate") LocalDate fromDate, @Param("descriptionLength") int descriptionLength, Pageable limit);
+
+    @Query(ROW_SELECT + "WHERE a.assignedUserName != :currentUsername AND a.date >= :fromDate AND (a.date > :date OR (a.date = :date AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)))) ORDER BY a.date ASC, a.createdAt DESC, a.id DESC")
+    List<ActivityRowDto> findOthersIncomingAfter(@Param("currentUsername") String currentUsername, @Param("fromDate") LocalDate fromDate, @Param("date") LocalDate date, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, @Param("descriptionLength") int descriptionLength, Pageable limit);
+}
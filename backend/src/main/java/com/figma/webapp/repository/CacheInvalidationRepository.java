@@ -0,0 +1,30 @@
+package com.figma.webapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.figma.webapp.entity.CacheInvalidation;
+
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+
+    @Query("SELECT c FROM CacheInvalidation c WHERE c.id > :afterId ORDER BY c.id")
+    List<CacheInvalidation> findAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query("SELECT MAX(c.id) FROM CacheInvalidation c")
+    Long findMaxId();
+
+    @Query("SELECT c.id FROM CacheInvalidation c WHERE c.createdAt < :before ORDER BY c.id")
+    List<Long> findIdsCreatedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
@@ -1,12 +1,15 @@
 package com.figma.webapp.repository;
 
 import com.figma.webapp.entity.Event;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -16,6 +19,30 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     
     List<Event> findByOrderByDateAscCreatedAtDesc();
     
-    @Query("SELECT e FROM Event e WHERE LOWER(e.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(e.description) LIKE LOWER(CONCAT('%', :query, '%'))")
-    List<Event> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(@Param("query") String query);
-}
\ No newline at end of file
+    // Unindexed scan; only used for queries too short for the n-gram search paths
+    @Query("SELECT e FROM Event e WHERE LOWER(e.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(e.description) LIKE LOWER(CONCAT('%', :query, '%')) ORDER BY e.id DESC")
+    Page<Event> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(@Param("query") String query, Pageable pageable);
+
+    // MySQL FULLTEXT search over the ngram index from V7; :query is a boolean-mode expression
+    @Query(value = "SELECT e.id AS id, MATCH(e.title, e.description) AGAINST (:query IN BOOLEAN MODE) AS score FROM events e "
+            + "WHERE MATCH(e.title, e.description) AGAINST (:query IN BOOLEAN MODE) ORDER BY score DESC, e.id DESC",
+            countQuery = "SELECT COUNT(*) FROM events e WHERE MATCH(e.title, e.description) AGAINST (:query IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<ScoredId> searchFullText(@Param("query") String query, Pageable pageable);
+
+    @Query(value = "SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() "
+            + "AND table_name = 'events' AND index_type = 'FULLTEXT'", nativeQuery = true)
+    long countFullTextIndexes();
+
+    @Query("SELECT MAX(e.updatedAt) FROM Event e")
+    LocalDateTime findLatestUpdate();
+
+    @Query("SELECT MAX(e.id) FROM Event e")
+    Long findMaxId();
+
+    interface ScoredId {
+        Long getId();
+
+        Double getScore();
+    }
+}
@@ -3,6 +3,7 @@ package com.figma.webapp.repository;
 import com.figma.webapp.entity.Interaction;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +16,7 @@ public interface InteractionRepository extends JpaRepository<Interaction, Long>
     List<Interaction> findByTypeOrderByTimestampDesc(String type);
     
     long countByType(String type);
+
+    @Query("SELECT MAX(i.id) FROM Interaction i")
+    Long findMaxId();
 }
\ No newline at end of file
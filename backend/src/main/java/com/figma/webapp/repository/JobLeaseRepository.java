@@ -0,0 +1,37 @@
+package com.figma.webapp.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.figma.webapp.entity.JobLease;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    // Takes the lease only if it has expired; the row lock makes concurrent attempts serialize
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.fencingToken = l.fencingToken + 1, l.lockedAt = :now, "
+            + "l.heartbeatAt = :now, l.leaseUntil = :leaseUntil WHERE l.name = :name AND l.leaseUntil < :now")
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now,
+                @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("SELECT l.fencingToken FROM JobLease l WHERE l.name = :name")
+    Long findFencingToken(@Param("name") String name);
+
+    // Matches nothing once another instance has taken the lease over
+    @Modifying
+    @Query("UPDATE JobLease l SET l.heartbeatAt = :now, l.leaseUntil = :leaseUntil "
+            + "WHERE l.name = :name AND l.fencingToken = :fencingToken")
+    int extend(@Param("name") String name, @Param("fencingToken") Long fencingToken, @Param("now") LocalDateTime now,
+               @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Ends the lease at leaseUntil, which the caller keeps at or after the minimum hold
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leaseUntil = :leaseUntil WHERE l.name = :name AND l.fencingToken = :fencingToken")
+    int release(@Param("name") String name, @Param("fencingToken") Long fencingToken, @Param("leaseUntil") LocalDateTime leaseUntil);
+}
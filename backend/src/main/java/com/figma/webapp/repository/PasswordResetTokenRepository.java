@@ -1,8 +1,10 @@
 package com.figma.webapp.repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,6 +17,7 @@ import com.figma.webapp.entity.User;
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
     
+    // token holds the SHA-256 digest, so this is a point lookup on the unique index
     Optional<PasswordResetToken> findByTokenAndUsedFalse(String token);
     
     Optional<PasswordResetToken> findByUserAndUsedFalse(User user);
@@ -23,7 +26,15 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
     @Query("DELETE FROM PasswordResetToken p WHERE p.expiryDate < :now")
     void deleteExpiredTokens(@Param("now") LocalDateTime now);
     
+    // Only touches rows that could still be redeemed, instead of the user's whole history
     @Modifying
-    @Query("UPDATE PasswordResetToken p SET p.used = true WHERE p.user = :user")
-    void markAllUserTokensAsUsed(@Param("user") User user);
+    @Query("UPDATE PasswordResetToken p SET p.used = true WHERE p.user = :user AND p.used = false AND p.expiryDate > :now")
+    int markLiveUserTokensAsUsed(@Param("user") User user, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT p.id FROM PasswordResetToken p WHERE p.expiryDate < :now ORDER BY p.id")
+    List<Long> findExpiredTokenIds(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken p WHERE p.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,31 @@
+package com.figma.webapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.figma.webapp.entity.RowDeletion;
+
+@Repository
+public interface RowDeletionRepository extends JpaRepository<RowDeletion, Long> {
+
+    // Both read idx_row_deletions_table_id
+    @Query("SELECT MAX(d.id) FROM RowDeletion d WHERE d.tableName = :tableName")
+    Long findMaxId(@Param("tableName") String tableName);
+
+    @Query("SELECT d FROM RowDeletion d WHERE d.tableName = :tableName AND d.id > :afterId ORDER BY d.id")
+    List<RowDeletion> findAfter(@Param("tableName") String tableName, @Param("afterId") Long afterId, Pageable limit);
+
+    @Query("SELECT d.id FROM RowDeletion d WHERE d.deletedAt < :before ORDER BY d.id")
+    List<Long> findIdsDeletedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RowDeletion d WHERE d.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
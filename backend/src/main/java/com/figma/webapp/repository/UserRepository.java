@@ -2,19 +2,25 @@ package com.figma.webapp.repository;
 
 import com.figma.webapp.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     
     Optional<User> findByUsername(String username);
     
     Optional<User> findByEmail(String email);
     
     Optional<User> findByUsernameOrEmail(String username, String email);
+
+    List<User> findByUsernameIn(Collection<String> usernames);
     
     boolean existsByUsername(String username);
     
@@ -23,4 +29,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRoleNot(User.UserRole role);
     
     List<User> findByRole(User.UserRole role);
+    
+    @Query("SELECT COALESCE(u.tokenVersion, 0) FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    @Query("SELECT MAX(u.updatedAt) FROM User u")
+    LocalDateTime findLatestUpdate();
+
+    @Query("SELECT MAX(u.id) FROM User u")
+    Long findMaxId();
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.figma.webapp.repository;
+
+import java.util.Optional;
+
+import com.figma.webapp.entity.User;
+
+public interface UserRepositoryCustom {
+
+    // Username is the natural id: resolved through the second-level cache when it is enabled
+    Optional<User> loadByUsername(String username);
+}
@@ -0,0 +1,62 @@
+package com.figma.webapp.security;
+
+import java.security.Principal;
+import java.util.Date;
+
+/**
+ * Principal built from the verified JWT claims of the current request.
+ * Controllers receive it through {@code @AuthenticationPrincipal} instead of
+ * re-reading and re-parsing the Authorization header.
+ */
+public class AuthenticatedUser implements Principal {
+
+    private final String username;
+    private final String role;
+    private final Long userId;
+    private final String tokenId;
+    private final Date tokenExpiresAt;
+
+    public AuthenticatedUser(String username, String role, Long userId, String tokenId, Date tokenExpiresAt) {
+        this.username = username;
+        this.role = role;
+        this.userId = userId;
+        this.tokenId = tokenId;
+        this.tokenExpiresAt = tokenExpiresAt;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    // May be null for tokens issued before the user id claim was added
+    public Long getUserId() {
+        return userId;
+    }
+
+    // jti of the presented JWT; null for tokens issued before ids were added
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public Date getTokenExpiresAt() {
+        return tokenExpiresAt;
+    }
+
+    public boolean isManager() {
+        return "MANAGER".equalsIgnoreCase(role);
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
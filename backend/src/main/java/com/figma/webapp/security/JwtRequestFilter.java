@@ -1,58 +1,97 @@
 package com.figma.webapp.security;
 
+import com.figma.webapp.entity.User;
 import com.figma.webapp.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    private static final String ROLE_PREFIX = "ROLE_";
+
     @Autowired
     private UserService userService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // When enabled, authorities are built from the verified role claim instead of
+    // loading the user from the database on every request
+    @Value("${jwt.stateless-auth:false}")
+    private boolean statelessAuth;
+
     @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain chain) throws ServletException, IOException {
 
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwtToken = null;
+        Claims claims = null;
 
-        // JWT Token is in the form "Bearer token". Remove Bearer word and get only the Token
+        // JWT Token is in the form "Bearer token". Remove Bearer word and get only the Token.
+        // The token is parsed exactly once here; signature and expiry are verified by the parser.
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwtToken);
+                claims = jwtUtil.parseClaims(jwtToken);
             } catch (Exception e) {
                 logger.warn("Unable to get JWT Token or JWT Token has expired");
             }
         }
 
-        // Once we get the token validate it.
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userService.loadUserByUsername(username);
+        // In-memory Bloom filter check; only a probable hit consults the exact set
+        if (claims != null && tokenRevocationService.isRevoked(claims.getId())) {
+            logger.debug("Rejecting revoked JWT");
+            claims = null;
+        }
+
+        if (claims != null && claims.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser principal = new AuthenticatedUser(
+                    claims.getSubject(),
+                    claims.get(JwtUtil.ROLE_CLAIM, String.class),
+                    claims.get(JwtUtil.USER_ID_CLAIM, Long.class),
+                    claims.getId(),
+                    claims.getExpiration());
+
+            Collection<? extends GrantedAuthority> authorities;
+            if (statelessAuth && isStatelessToken(claims)) {
+                authorities = authoritiesFromClaims(principal, claims);
+            } else {
+                principal = resolveFromDatabase(principal, claims);
+                authorities = principal != null
+                        ? List.of(new SimpleGrantedAuthority(ROLE_PREFIX + principal.getRole())) : null;
+            }
 
-            // if token is valid configure Spring Security to manually set authentication
-            if (jwtUtil.validateToken(jwtToken, userDetails)) {
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            if (authorities != null) {
+                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
+                    new UsernamePasswordAuthenticationToken(principal, null, authorities);
                 usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                
+
                 // After setting the Authentication in the context, we specify
                 // that the current user is authenticated. So it passes the Spring Security Configurations successfully.
                 SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
@@ -60,4 +99,43 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    // Tokens issued before the uid/ver claims existed still go through the database path
+    private boolean isStatelessToken(Claims claims) {
+        return claims.get(JwtUtil.ROLE_CLAIM) != null
+                && claims.get(JwtUtil.USER_ID_CLAIM) != null
+                && claims.get(JwtUtil.TOKEN_VERSION_CLAIM) != null;
+    }
+
+    /**
+     * Loads the token's user from the database. Tokens carrying a user id are resolved by id, so a
+     * username freed by a rename never maps an old token onto whoever registers it next; older
+     * tokens fall back to the subject. The stored role wins over the claim, so a demotion applies
+     * to tokens already issued.
+     */
+    private AuthenticatedUser resolveFromDatabase(AuthenticatedUser claimed, Claims claims) {
+        Optional<User> stored = claimed.getUserId() != null
+                ? userService.findById(claimed.getUserId())
+                : userService.findByUsernameOrEmail(claimed.getUsername(), claimed.getUsername());
+        if (stored.isEmpty() || !stored.get().getUsername().equals(claimed.getUsername())) {
+            return null;
+        }
+        User user = stored.get();
+        Integer tokenVersion = claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Integer.class);
+        if (tokenVersion != null && !tokenVersion.equals(user.getTokenVersion())) {
+            logger.debug("Rejecting JWT with outdated token version for user " + user.getUsername());
+            return null;
+        }
+        return new AuthenticatedUser(user.getUsername(), user.getRole().name(), user.getId(),
+                claimed.getTokenId(), claimed.getTokenExpiresAt());
+    }
+
+    private Collection<? extends GrantedAuthority> authoritiesFromClaims(AuthenticatedUser principal, Claims claims) {
+        Integer tokenVersion = claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Integer.class);
+        if (!tokenVersionRegistry.isCurrent(principal.getUserId(), tokenVersion)) {
+            logger.debug("Rejecting JWT with outdated token version for user " + principal.getUsername());
+            return null;
+        }
+        return List.of(new SimpleGrantedAuthority(ROLE_PREFIX + principal.getRole()));
+    }
+}
@@ -0,0 +1,237 @@
+package com.figma.webapp.security;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory token-bucket limiter for the unauthenticated credential endpoints.
+ *
+ * Every attempt consumes a token from a bucket keyed by client IP and, when known,
+ * from a bucket keyed by the normalized username/email. Repeated failures add a
+ * lockout that doubles with each further failure. Buckets live in a bounded cache
+ * and expire when idle; updates are guarded by a fixed set of striped locks, and an attempt
+ * checks and takes its tokens under the locks of both its buckets in one step.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final int LOCK_STRIPES = 64;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.security.login-throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.security.login-throttle.ip-capacity:20}")
+    private int ipCapacity;
+
+    @Value("${app.security.login-throttle.ip-refill-per-minute:10}")
+    private double ipRefillPerMinute;
+
+    @Value("${app.security.login-throttle.account-capacity:5}")
+    private int accountCapacity;
+
+    @Value("${app.security.login-throttle.account-refill-per-minute:2}")
+    private double accountRefillPerMinute;
+
+    @Value("${app.security.login-throttle.account-lockout-threshold:5}")
+    private int accountLockoutThreshold;
+
+    // Higher than the account threshold so a shared office NAT is not locked out by a few typos
+    @Value("${app.security.login-throttle.ip-lockout-threshold:20}")
+    private int ipLockoutThreshold;
+
+    @Value("${app.security.login-throttle.lockout-base-seconds:30}")
+    private long lockoutBaseSeconds;
+
+    @Value("${app.security.login-throttle.lockout-max-seconds:900}")
+    private long lockoutMaxSeconds;
+
+    @Value("${app.security.login-throttle.max-tracked-keys:100000}")
+    private long maxTrackedKeys;
+
+    @Value("${app.security.login-throttle.idle-expiry-minutes:30}")
+    private long idleExpiryMinutes;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private Cache<String, Bucket> buckets;
+
+    private Counter allowedCounter;
+
+    private Counter rejectedCounter;
+
+    private Counter lockoutCounter;
+
+    @PostConstruct
+    void init() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofMinutes(idleExpiryMinutes))
+                .build();
+
+        allowedCounter = Counter.builder("auth.throttle.allowed")
+                .description("Credential attempts admitted by the throttle")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("auth.throttle.rejected")
+                .description("Credential attempts rejected by the throttle")
+                .register(meterRegistry);
+        lockoutCounter = Counter.builder("auth.throttle.lockouts")
+                .description("Lockouts started after repeated failures")
+                .register(meterRegistry);
+        Gauge.builder("auth.throttle.tracked.keys", buckets, Cache::estimatedSize)
+                .description("Number of IP and account buckets currently tracked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tries to admit an attempt for the given endpoint.
+     *
+     * @param account username or email as typed by the client, or null if unknown
+     * @return 0 if the attempt may proceed, otherwise the number of seconds to wait
+     */
+    public long tryAcquire(String endpoint, String clientIp, String account) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        String ipKey = endpoint + ":ip:" + clientIp;
+        String accountKey = account != null ? endpoint + ":acct:" + normalize(account) : null;
+
+        Bucket ipBucket = buckets.get(ipKey, k -> new Bucket(ipCapacity, ipRefillPerMinute, now));
+        Bucket accountBucket = accountKey != null
+                ? buckets.get(accountKey, k -> new Bucket(accountCapacity, accountRefillPerMinute, now))
+                : null;
+
+        // Stripes are always locked in index order, so two attempts cannot deadlock
+        int ipStripe = stripe(ipKey);
+        int accountStripe = accountKey != null ? stripe(accountKey) : ipStripe;
+        long wait;
+        synchronized (locks[Math.min(ipStripe, accountStripe)]) {
+            synchronized (locks[Math.max(ipStripe, accountStripe)]) {
+                wait = Math.max(waitTime(ipBucket, now), accountBucket != null ? waitTime(accountBucket, now) : 0);
+                if (wait == 0) {
+                    // Both buckets have a token available, so take one from each
+                    ipBucket.tokens -= 1;
+                    if (accountBucket != null) {
+                        accountBucket.tokens -= 1;
+                    }
+                }
+            }
+        }
+        if (wait > 0) {
+            rejectedCounter.increment();
+            return wait;
+        }
+        allowedCounter.increment();
+        return 0;
+    }
+
+    public void recordFailure(String endpoint, String clientIp, String account) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        registerFailure(endpoint + ":ip:" + clientIp, ipLockoutThreshold, now);
+        if (account != null) {
+            registerFailure(endpoint + ":acct:" + normalize(account), accountLockoutThreshold, now);
+        }
+    }
+
+    public void recordSuccess(String endpoint, String account) {
+        if (!enabled || account == null) {
+            return;
+        }
+        String key = endpoint + ":acct:" + normalize(account);
+        Bucket bucket = buckets.getIfPresent(key);
+        if (bucket != null) {
+            synchronized (lockFor(key)) {
+                bucket.failures = 0;
+                bucket.lockedUntil = 0;
+            }
+        }
+    }
+
+    // Caller holds the bucket's lock
+    private static long waitTime(Bucket bucket, long now) {
+        if (bucket.lockedUntil - now > 0) {
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.lockedUntil - now));
+        }
+        bucket.refill(now);
+        if (bucket.tokens >= 1) {
+            return 0;
+        }
+        double secondsPerToken = 60.0 / bucket.refillPerMinute;
+        return Math.max(1, (long) Math.ceil((1 - bucket.tokens) * secondsPerToken));
+    }
+
+    private void registerFailure(String key, int lockoutThreshold, long now) {
+        Bucket bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            return;
+        }
+        synchronized (lockFor(key)) {
+            bucket.failures++;
+            if (bucket.failures >= lockoutThreshold) {
+                // Lockout doubles for each failure past the threshold, up to the maximum
+                int exponent = Math.min(bucket.failures - lockoutThreshold, 20);
+                long lockoutSeconds = Math.min(lockoutMaxSeconds, lockoutBaseSeconds << exponent);
+                bucket.lockedUntil = now + TimeUnit.SECONDS.toNanos(lockoutSeconds);
+                lockoutCounter.increment();
+            }
+        }
+    }
+
+    private Object lockFor(String key) {
+        return locks[stripe(key)];
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & 0x7fffffff) % LOCK_STRIPES;
+    }
+
+    private static String normalize(String account) {
+        return account.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Bucket {
+        private final int capacity;
+        private final double refillPerMinute;
+        private double tokens;
+        private long lastRefill;
+        private int failures;
+        private long lockedUntil;
+
+        private Bucket(int capacity, double refillPerMinute, long now) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        private void refill(long now) {
+            double elapsedMinutes = (now - lastRefill) / 60_000_000_000.0;
+            if (elapsedMinutes > 0) {
+                tokens = Math.min(capacity, tokens + elapsedMinutes * refillPerMinute);
+                lastRefill = now;
+            }
+        }
+    }
+}
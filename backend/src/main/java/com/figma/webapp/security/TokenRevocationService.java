@@ -0,0 +1,128 @@
+package com.figma.webapp.security;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.figma.webapp.entity.RevokedToken;
+import com.figma.webapp.repository.RevokedTokenRepository;
+import com.figma.webapp.util.BloomFilter;
+
+/**
+ * Revocation list for issued JWTs, keyed by their jti claim.
+ *
+ * Revocations are persisted in revoked_tokens and mirrored in memory. The request
+ * path first asks a Bloom filter, which answers "definitely not revoked" for almost
+ * every token without touching the exact set or the database. Rows are dropped once
+ * the JWT they refer to has expired, and the filter is rebuilt at the same time.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter;
+
+    private volatile LocalDateTime lastSync = LocalDateTime.now();
+
+    public boolean isRevoked(String tokenId) {
+        BloomFilter filter = bloomFilter;
+        if (tokenId == null || filter == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    @Transactional
+    public void revoke(String tokenId, Date expiresAt) {
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiry));
+        add(tokenId, expiry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevocations() {
+        rebuild(revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now()));
+        logger.info("Loaded {} active JWT revocations", revoked.size());
+    }
+
+    // Pulls revocations made on other instances; the overlap tolerates clock skew between nodes
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:30000}")
+    public void syncRevocations() {
+        if (bloomFilter == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (RevokedToken token : revokedTokenRepository.findByRevokedAtAfter(lastSync.minusMinutes(1))) {
+            add(token.getTokenId(), token.getExpiresAt());
+        }
+        lastSync = now;
+    }
+
+    @Scheduled(cron = "${jwt.revocation.prune-cron:0 15 * * * *}")
+    @Transactional
+    public void pruneExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = revokedTokenRepository.deleteExpiredTokens(now);
+        synchronized (this) {
+            revoked.values().removeIf(expiry -> expiry.isBefore(now));
+
+            // Bloom filters cannot forget entries, so rebuild one from what is still live
+            BloomFilter filter = newFilter();
+            revoked.keySet().forEach(filter::put);
+            bloomFilter = filter;
+        }
+        if (deleted > 0) {
+            logger.info("Pruned {} expired JWT revocations", deleted);
+        }
+    }
+
+    private synchronized void rebuild(List<RevokedToken> tokens) {
+        BloomFilter filter = newFilter();
+        revoked.clear();
+        for (RevokedToken token : tokens) {
+            revoked.put(token.getTokenId(), token.getExpiresAt());
+            filter.put(token.getTokenId());
+        }
+        bloomFilter = filter;
+        lastSync = LocalDateTime.now();
+    }
+
+    // Synchronized with rebuilds so an entry is never added to a filter that is about to be replaced
+    private synchronized void add(String tokenId, LocalDateTime expiry) {
+        // Exact set first, so a filter hit always finds the entry
+        revoked.put(tokenId, expiry);
+        BloomFilter filter = bloomFilter;
+        if (filter != null) {
+            filter.put(tokenId);
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(Math.max(expectedEntries, revoked.size() * 2), falsePositiveRate);
+    }
+}
@@ -0,0 +1,66 @@
+package com.figma.webapp.security;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.figma.webapp.repository.UserRepository;
+
+/**
+ * Small in-memory table of the current token version per user id.
+ *
+ * Stateless authentication compares the "ver" claim of a JWT against this table
+ * instead of loading the user on every request. Entries are refreshed from the
+ * database after {@code jwt.token-version-cache-seconds}, so a version bumped on
+ * another instance is picked up within that window.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final Map<Long, Entry> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.token-version-cache-seconds:30}")
+    private long cacheSeconds;
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = currentVersion(userId);
+        return current != null && current == tokenVersion;
+    }
+
+    /**
+     * Records a new version for a user after it has been saved, so tokens carrying
+     * an older version are rejected immediately on this instance.
+     */
+    public void update(Long userId, int tokenVersion) {
+        versions.put(userId, new Entry(tokenVersion, System.currentTimeMillis()));
+    }
+
+    public void evict(Long userId) {
+        versions.remove(userId);
+    }
+
+    private Integer currentVersion(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = versions.get(userId);
+        if (entry != null && now - entry.loadedAt < cacheSeconds * 1000) {
+            return entry.version;
+        }
+
+        Optional<Integer> stored = userRepository.findTokenVersionById(userId);
+        if (stored.isEmpty()) {
+            versions.remove(userId);
+            return null;
+        }
+        versions.put(userId, new Entry(stored.get(), now));
+        return stored.get();
+    }
+
+    private record Entry(int version, long loadedAt) {}
+}
@@ -0,0 +1,335 @@
+package com.figma.webapp.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.figma.webapp.dto.ActivityRowDto;
+import com.figma.webapp.entity.Activity;
+import com.figma.webapp.entity.RowDeletion;
+import com.figma.webapp.repository.ActivityRepository;
+import com.figma.webapp.util.AfterCommit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Optional in-process index of task rows by date, per assignee and team-wide, so the
+ * day and range views can be answered without a database round trip.
+ *
+ * Disabled by default (app.task-index.enabled). The index is loaded once the
+ * application is ready and kept current by ActivityService's write paths; changes made
+ * inside a transaction are applied after it commits. A periodic check compares the latest
+ * update time and highest id with the database and reloads the index on any drift, which
+ * also picks up writes made by other instances; their deletes are read from the row
+ * deletion log and dropped from the index.
+ *
+ * Rows are kept compact: descriptions are cut to app.task-index.description-length characters.
+ * Reads that ask for more get the cut rows' descriptions from the database by id, see
+ * withDescriptions; rows whose description fits are served from memory as they are.
+ */
+@Component
+public class ActivityDateIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityDateIndex.class);
+
+    // Newest first within a day, matching the findBy...Date...OrderByCreatedAtDesc queries
+    private static final Comparator<ActivityRowDto> DAY_ORDER =
+            Comparator.comparing(ActivityRowDto::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(ActivityRowDto::getId, Comparator.reverseOrder());
+
+    // More deletions than this since the last check are repaired with a reload
+    private static final int MAX_DELETIONS = 1000;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private RowDeletionLog rowDeletionLog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.task-index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.task-index.description-length:200}")
+    private int descriptionLength;
+
+    private volatile Snapshot snapshot;
+
+    private Counter reloadCounter;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        reloadCounter = Counter.builder("tasks.index.reloads")
+                .description("Full reloads of the in-memory task index, including drift repairs")
+                .register(meterRegistry);
+        Gauge.builder("tasks.index.size", this, index -> index.snapshot != null ? index.snapshot.byId.size() : 0)
+                .description("Tasks held in the in-memory task index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * True once the index is loaded; callers fall back to the database until then.
+     */
+    public boolean isReady() {
+        return enabled && snapshot != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // Reads keep going to the database; the next reconciliation run retries
+            logger.error("Failed to load the task index", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.task-index.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.task-index.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        Snapshot current = snapshot;
+        if (current == null) {
+            reload();
+            return;
+        }
+        LocalDateTime latest = activityRepository.findLatestUpdate();
+        Long maxId = activityRepository.findMaxId();
+        boolean newerInDb = latest != null
+                && (current.latestUpdate == null || latest.truncatedTo(ChronoUnit.MICROS).isAfter(current.latestUpdate.truncatedTo(ChronoUnit.MICROS)));
+        if (newerInDb || (maxId != null && maxId > current.maxId)) {
+            logger.info("Task index drifted from the database (latest update {}, highest id {}), reloading", latest, maxId);
+            reload();
+            return;
+        }
+        List<RowDeletion> deletions = rowDeletionLog.readFrom(RowDeletionLog.ACTIVITIES, current.deletionsSeen, MAX_DELETIONS + 1);
+        if (deletions.stream().filter(deletion -> deletion.getId() > current.deletionsSeen).count() > MAX_DELETIONS) {
+            logger.info("Over {} tasks were deleted since the last check, reloading the task index", MAX_DELETIONS);
+            reload();
+            return;
+        }
+        apply(index -> deletions.forEach(deletion -> {
+            index.remove(deletion.getEntityId());
+            index.deletionsSeen = Math.max(index.deletionsSeen, deletion.getId());
+        }));
+    }
+
+    public synchronized void reload() {
+        Snapshot fresh = new Snapshot(descriptionLength);
+        // Read first, so deletes that commit during the load are applied by the next check
+        fresh.deletionsSeen = rowDeletionLog.latestId(RowDeletionLog.ACTIVITIES);
+        fresh.latestUpdate = activityRepository.findLatestUpdate();
+        // One character more than is kept tells which descriptions were cut
+        for (ActivityRowDto row : activityRepository.findAllRows(descriptionLength + 1)) {
+            fresh.add(row);
+        }
+        snapshot = fresh;
+        reloadCounter.increment();
+        logger.info("Loaded {} tasks into the task index", fresh.byId.size());
+    }
+
+    // For bulk statements that bypass the entity write paths
+    public void reloadAfterCommit() {
+        if (enabled) {
+            AfterCommit.run(this::reload);
+        }
+    }
+
+    // Re-reads the given rows once the surrounding transaction commits, for set-based updates
+    public void refreshAfterCommit(Collection<Long> ids, LocalDateTime updatedAt) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            List<ActivityRowDto> rows = activityRepository.findRowsByIdIn(ids, descriptionLength + 1);
+            apply(current -> {
+                for (ActivityRowDto row : rows) {
+                    current.remove(row.getId());
+                    current.add(row);
+                }
+                if (current.latestUpdate == null || updatedAt.isAfter(current.latestUpdate)) {
+                    current.latestUpdate = updatedAt;
+                }
+            });
+        });
+    }
+
+    public void put(Activity activity) {
+        if (!enabled) {
+            return;
+        }
+        // Read the entity after commit, once auditing has stamped updatedAt on flush
+        AfterCommit.run(() -> apply(current -> {
+            ActivityRowDto row = new ActivityRowDto(activity.getId(), activity.getAssignedUserName(), activity.getAssignedByName(),
+                    activity.getDate(), activity.getCreatedAt(), activity.getDescription(), activity.getStatus(), activity.getPriority());
+            LocalDateTime updatedAt = activity.getUpdatedAt();
+            current.remove(row.getId());
+            current.add(row);
+            if (updatedAt != null && (current.latestUpdate == null || updatedAt.isAfter(current.latestUpdate))) {
+                current.latestUpdate = updatedAt;
+            }
+        }));
+    }
+
+    public void remove(Long id) {
+        if (enabled) {
+            AfterCommit.run(() -> apply(current -> current.remove(id)));
+        }
+    }
+
+    /**
+     * The rows with descriptions of up to the given length. Rows whose description the index
+     * cut shorter are re-read by id in one query; a row deleted since keeps its cut description.
+     */
+    public List<ActivityRowDto> withDescriptions(List<ActivityRowDto> rows, int length) {
+        Snapshot current = snapshot;
+        if (length <= descriptionLength || current == null) {
+            return rows;
+        }
+        List<Long> cut = rows.stream()
+                .map(ActivityRowDto::getId)
+                .filter(current.truncated::contains)
+                .collect(Collectors.toList());
+        if (cut.isEmpty()) {
+            return rows;
+        }
+        Map<Long, ActivityRowDto> loaded = activityRepository.findRowsByIdIn(cut, length).stream()
+                .collect(Collectors.toMap(ActivityRowDto::getId, Function.identity()));
+        return rows.stream()
+                .map(row -> loaded.getOrDefault(row.getId(), row))
+                .collect(Collectors.toList());
+    }
+
+    // Day view for one assignee, newest first
+    public List<ActivityRowDto> findByUserAndDate(String username, LocalDate date) {
+        NavigableMap<LocalDate, Map<Long, ActivityRowDto>> days = snapshot.byUser.get(username);
+        return days != null ? sortedDay(days.get(date)) : List.of();
+    }
+
+    // Team-wide day view, newest first
+    public List<ActivityRowDto> findByDate(LocalDate date) {
+        return sortedDay(snapshot.byDate.get(date));
+    }
+
+    // Team-wide range, by date and newest first within each day
+    public List<ActivityRowDto> findByDateBetween(LocalDate startDate, LocalDate endDate) {
+        List<ActivityRowDto> rows = new ArrayList<>();
+        for (Map<Long, ActivityRowDto> day : snapshot.byDate.subMap(startDate, true, endDate, true).values()) {
+            rows.addAll(sortedDay(day));
+        }
+        return rows;
+    }
+
+    private static List<ActivityRowDto> sortedDay(Map<Long, ActivityRowDto> day) {
+        if (day == null || day.isEmpty()) {
+            return List.of();
+        }
+        List<ActivityRowDto> rows = new ArrayList<>(day.values());
+        rows.sort(DAY_ORDER);
+        return rows;
+    }
+
+    private synchronized void apply(Consumer<Snapshot> change) {
+        Snapshot current = snapshot;
+        if (current != null) {
+            change.accept(current);
+        }
+    }
+
+    private static final class Snapshot {
+        private final int descriptionLength;
+        private final Map<Long, ActivityRowDto> byId = new ConcurrentHashMap<>();
+        private final Map<String, NavigableMap<LocalDate, Map<Long, ActivityRowDto>>> byUser = new ConcurrentHashMap<>();
+        private final NavigableMap<LocalDate, Map<Long, ActivityRowDto>> byDate = new ConcurrentSkipListMap<>();
+        // Ids of rows whose description is longer than the index keeps
+        private final Set<Long> truncated = ConcurrentHashMap.newKeySet();
+        private volatile LocalDateTime latestUpdate;
+        // Highest task id added and highest row deletion log entry applied
+        private volatile long maxId;
+        private volatile long deletionsSeen;
+
+        private Snapshot(int descriptionLength) {
+            this.descriptionLength = descriptionLength;
+        }
+
+        private void add(ActivityRowDto row) {
+            row = compact(row);
+            byId.put(row.getId(), row);
+            maxId = Math.max(maxId, row.getId());
+            if (row.getAssignedUser() != null) {
+                byUser.computeIfAbsent(row.getAssignedUser(), user -> new ConcurrentSkipListMap<>())
+                        .computeIfAbsent(row.getDate(), date -> new ConcurrentHashMap<>())
+                        .put(row.getId(), row);
+            }
+            byDate.computeIfAbsent(row.getDate(), date -> new ConcurrentHashMap<>()).put(row.getId(), row);
+        }
+
+        private ActivityRowDto compact(ActivityRowDto row) {
+            String description = row.getDescription();
+            if (description == null || description.length() <= descriptionLength) {
+                truncated.remove(row.getId());
+                return row;
+            }
+            truncated.add(row.getId());
+            return new ActivityRowDto(row.getId(), row.getAssignedUser(), row.getAssignedBy(), row.getDate(), row.getCreatedAt(),
+                    description.substring(0, descriptionLength), row.getStatus(), row.getPriority());
+        }
+
+        private void remove(Long id) {
+            truncated.remove(id);
+            ActivityRowDto row = byId.remove(id);
+            if (row == null) {
+                return;
+            }
+            NavigableMap<LocalDate, Map<Long, ActivityRowDto>> days = row.getAssignedUser() != null ? byUser.get(row.getAssignedUser()) : null;
+            if (days != null) {
+                removeFromDay(days, row);
+            }
+            removeFromDay(byDate, row);
+        }
+
+        private static void removeFromDay(NavigableMap<LocalDate, Map<Long, ActivityRowDto>> days, ActivityRowDto row) {
+            Map<Long, ActivityRowDto> day = days.get(row.getDate());
+            if (day != null) {
+                day.remove(row.getId());
+                if (day.isEmpty()) {
+                    days.remove(row.getDate(), day);
+                }
+            }
+        }
+    }
+}
@@ -1,116 +1,407 @@
 package com.figma.webapp.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.figma.webapp.dto.ActivityDto;
+import com.figma.webapp.dto.ActivityCountRowDto;
+import com.figma.webapp.dto.ActivityRowDto;
+import com.figma.webapp.dto.BulkAssignResultDto;
+import com.figma.webapp.dto.CalendarDaySummaryDto;
+import com.figma.webapp.dto.CalendarTaskDto;
+import com.figma.webapp.dto.CursorPageDto;
+import com.figma.webapp.dto.TaskAssignmentDto;
+import com.figma.webapp.dto.TaskSearchHitDto;
 import com.figma.webapp.entity.Activity;
 import com.figma.webapp.entity.User;
+import com.figma.webapp.util.TaskCursor;
 import com.figma.webapp.repository.ActivityRepository;
-import com.figma.webapp.repository.UserRepository;
 
 @Service
 public class ActivityService {
 
+    // Longest value a MySQL TEXT column can hold, i.e. no truncation
+    static final int FULL_DESCRIPTION = 65535;
+
+    // Keeps each IN list well below driver and optimizer limits
+    private static final int BULK_UPDATE_CHUNK_SIZE = 500;
+
     @Autowired
     private ActivityRepository activityRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserService userService;
+
+    @Autowired
+    private ActivityDateIndex activityDateIndex;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private TaskChangeStream taskChangeStream;
 
+    @Autowired
+    private EntityCacheSync entityCacheSync;
+
+    @Autowired
+    private RowDeletionLog rowDeletionLog;
+
+    @Transactional(readOnly = true)
     public List<ActivityDto> getAllActivities() {
-        return activityRepository.findAllOrderByDateAscCreatedAtDesc().stream()
-                .map(this::convertToDto)
+        return activityRepository.findAllRows(FULL_DESCRIPTION).stream()
+                .map(this::rowToDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ActivityDto> getActivitiesByAssignedUser(String assignedUser) {
-        return activityRepository.findByAssignedUserNameOrderByDateAscCreatedAtDesc(assignedUser).stream()
-                .map(this::convertToDto)
+        return activityRepository.findRowsByAssignedUserName(assignedUser, FULL_DESCRIPTION).stream()
+                .map(this::rowToDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ActivityDto> getActivitiesByDate(LocalDate date) {
-        return activityRepository.findByDateOrderByCreatedAtDesc(date).stream()
-                .map(this::convertToDto)
+        return getActivitiesByDate(date, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ActivityDto> getActivitiesByDate(LocalDate date, Integer descriptionLength) {
+        int length = descriptionLength(descriptionLength);
+        if (activityDateIndex.isReady()) {
+            return activityDateIndex.withDescriptions(activityDateIndex.findByDate(date), length).stream()
+                    .map(row -> rowToDto(row, length))
+                    .collect(Collectors.toList());
+        }
+        return activityRepository.findRowsByDate(date, length).stream()
+                .map(this::rowToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * All tasks on a date from a single query (or the in-memory index), split in one pass:
+     * key true holds the given user's tasks, false everyone else's. Both keep newest-first order.
+     */
+    @Transactional(readOnly = true)
+    public Map<Boolean, List<ActivityDto>> getActivitiesByDatePartitioned(String username, LocalDate date, Integer descriptionLength) {
+        return getActivitiesByDate(date, descriptionLength).stream()
+                .collect(Collectors.partitioningBy(task -> username.equals(task.getAssignedUser())));
+    }
+
+    @Transactional(readOnly = true)
     public List<ActivityDto> getActivitiesByStatus(Activity.ActivityStatus status) {
-        return activityRepository.findByStatusOrderByDateAscCreatedAtDesc(status).stream()
-                .map(this::convertToDto)
+        return activityRepository.findRowsByStatus(status, FULL_DESCRIPTION).stream()
+                .map(this::rowToDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Page<ActivityDto> getInProgressActivitiesPaged(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return activityRepository.findByStatusOrderByDateAscCreatedAtDesc(Activity.ActivityStatus.IN_PROGRESS, pageable)
-                .map(this::convertToDto);
+        return activityRepository.findRowPageByStatus(Activity.ActivityStatus.IN_PROGRESS, FULL_DESCRIPTION, pageable)
+                .map(this::rowToDto);
     }
 
+    @Transactional(readOnly = true)
     public Page<ActivityDto> getInProgressActivitiesForUserPaged(String assignedUser, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return activityRepository.findByAssignedUserNameAndStatusOrderByDateAscCreatedAtDesc(assignedUser, Activity.ActivityStatus.IN_PROGRESS, pageable)
-                .map(this::convertToDto);
+        return activityRepository.findRowPageByAssignedUserNameAndStatus(assignedUser, Activity.ActivityStatus.IN_PROGRESS, FULL_DESCRIPTION, pageable)
+                .map(this::rowToDto);
     }
 
+    @Transactional(readOnly = true)
     public Page<ActivityDto> getActivitiesForUserPaged(String assignedUser, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return activityRepository.findByAssignedUserNameOrderByDateAscCreatedAtDesc(assignedUser, pageable)
-                .map(this::convertToDto);
+        return activityRepository.findRowPageByAssignedUserName(assignedUser, FULL_DESCRIPTION, pageable)
+                .map(this::rowToDto);
     }
 
+    @Transactional(readOnly = true)
     public Page<ActivityDto> getActivitiesForUserByDatePaged(String assignedUser, LocalDate date, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return activityRepository.findByAssignedUserNameAndDateOrderByCreatedAtDesc(assignedUser, date, pageable)
-                .map(this::convertToDto);
+        if (activityDateIndex.isReady()) {
+            List<ActivityRowDto> rows = activityDateIndex.findByUserAndDate(assignedUser, date);
+            int from = (int) Math.min(pageable.getOffset(), rows.size());
+            int to = Math.min(from + size, rows.size());
+            List<ActivityDto> content = activityDateIndex.withDescriptions(rows.subList(from, to), FULL_DESCRIPTION).stream()
+                    .map(this::rowToDto)
+                    .collect(Collectors.toList());
+            return new PageImpl<>(content, pageable, rows.size());
+        }
+        return activityRepository.findRowPageByAssignedUserNameAndDate(assignedUser, date, FULL_DESCRIPTION, pageable)
+                .map(this::rowToDto);
     }
 
+    @Transactional(readOnly = true)
     public Page<ActivityDto> getHistoryActivitiesForUserPaged(String assignedUser, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         LocalDate today = LocalDate.now();
-        return activityRepository.findByAssignedUserNameAndDateBeforeOrderByDateDescCreatedAtDesc(assignedUser, today, pageable)
-                .map(this::convertToDto);
+        return activityRepository.findHistoryRowPage(assignedUser, today, FULL_DESCRIPTION, pageable)
+                .map(this::rowToDto);
+    }
+
+    // Keyset variants of the paged queries above: a blank cursor returns the first page
+    @Transactional(readOnly = true)
+    public CursorPageDto<ActivityDto> getActivitiesForUserAfter(String assignedUser, String cursor, int size) {
+        TaskCursor after = TaskCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ActivityRowDto> rows = after == null
+                ? activityRepository.findUserTasksFirstPage(assignedUser, FULL_DESCRIPTION, limit)
+                : activityRepository.findUserTasksAfter(assignedUser, after.date(), after.createdAt(), after.id(), FULL_DESCRIPTION, limit);
+        return toCursorPage(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ActivityDto> getInProgressActivitiesAfter(String cursor, int size) {
+        TaskCursor after = TaskCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ActivityRowDto> rows = after == null
+                ? activityRepository.findByStatusFirstPage(Activity.ActivityStatus.IN_PROGRESS, FULL_DESCRIPTION, limit)
+                : activityRepository.findByStatusAfter(Activity.ActivityStatus.IN_PROGRESS, after.date(), after.createdAt(), after.id(), FULL_DESCRIPTION, limit);
+        return toCursorPage(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ActivityDto> getInProgressActivitiesForUserAfter(String assignedUser, String cursor, int size) {
+        TaskCursor after = TaskCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ActivityRowDto> rows = after == null
+                ? activityRepository.findUserTasksByStatusFirstPage(assignedUser, Activity.ActivityStatus.IN_PROGRESS, FULL_DESCRIPTION, limit)
+                : activityRepository.findUserTasksByStatusAfter(assignedUser, Activity.ActivityStatus.IN_PROGRESS, after.date(), after.createdAt(), after.id(), FULL_DESCRIPTION, limit);
+        return toCursorPage(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ActivityDto> getHistoryActivitiesForUserAfter(String assignedUser, String cursor, int size) {
+        TaskCursor after = TaskCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        LocalDate today = LocalDate.now();
+        List<ActivityRowDto> rows = after == null
+                ? activityRepository.findHistoryFirstPage(assignedUser, today, FULL_DESCRIPTION, limit)
+                : activityRepository.findHistoryAfter(assignedUser, today, after.date(), after.createdAt(), after.id(), FULL_DESCRIPTION, limit);
+        return toCursorPage(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ActivityDto> getOthersIncomingTasksAfter(String currentUsername, String fromDate, String cursor, int size) {
+        LocalDate date = LocalDate.parse(fromDate);
+        TaskCursor after = TaskCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ActivityRowDto> rows = after == null
+                ? activityRepository.findOthersIncomingFirstPage(currentUsername, date, FULL_DESCRIPTION, limit)
+                : activityRepository.findOthersIncomingAfter(currentUsername, date, after.date(), after.createdAt(), after.id(), FULL_DESCRIPTION, limit);
+        return toCursorPage(rows, size);
+    }
+
+    // Queries fetch one extra row so we know whether a next page exists without counting
+    private CursorPageDto<ActivityDto> toCursorPage(List<ActivityRowDto> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<ActivityRowDto> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? TaskCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new CursorPageDto<>(page.stream().map(this::rowToDto).collect(Collectors.toList()), nextCursor);
     }
 
     public ActivityDto createActivity(ActivityDto activityDto) {
         Activity activity = convertToEntity(activityDto);
         Activity savedActivity = activityRepository.save(activity);
-        return convertToDto(savedActivity);
+        activityDateIndex.put(savedActivity);
+        taskSearchIndex.put(savedActivity);
+        resourceVersions.tasksChanged();
+        ActivityDto savedDto = convertToDto(savedActivity);
+        taskChangeStream.created(savedDto);
+        return savedDto;
+    }
+
+    /**
+     * Creates many assignments in one transaction. Assignees are resolved with a single IN
+     * query and the new rows are flushed as JDBC insert batches (hibernate.jdbc.batch_size).
+     * Invalid items are reported individually and do not stop the rest.
+     */
+    @Transactional
+    public List<BulkAssignResultDto> bulkAssign(String managerUsername, List<TaskAssignmentDto> assignments) {
+        User manager = userService.findByUsername(managerUsername);
+        Map<String, User> assignees = userService.findByUsernames(assignments.stream()
+                .map(TaskAssignmentDto::getAssignedUser)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        List<BulkAssignResultDto> results = new ArrayList<>(assignments.size());
+        List<Activity> activities = new ArrayList<>(assignments.size());
+        List<Integer> indexes = new ArrayList<>(assignments.size());
+        for (int i = 0; i < assignments.size(); i++) {
+            TaskAssignmentDto item = assignments.get(i);
+            User assignedUser = assignees.get(item.getAssignedUser());
+            if (assignedUser == null) {
+                results.add(BulkAssignResultDto.failed(i, item.getAssignedUser(), "User not found"));
+                continue;
+            }
+            if (item.getDate() == null || item.getDescription() == null || item.getDescription().isBlank()) {
+                results.add(BulkAssignResultDto.failed(i, item.getAssignedUser(), "Date and description are required"));
+                continue;
+            }
+
+            Activity activity = new Activity();
+            activity.setTitle("Task"); // Same default title as single assignment
+            activity.setDescription(item.getDescription());
+            activity.setDate(item.getDate());
+            activity.setAssignedUser(assignedUser);
+            activity.setAssignedBy(manager);
+            try {
+                activity.setStatus(Activity.ActivityStatus.valueOf(item.getStatus()));
+                activity.setPriority(Activity.ActivityPriority.valueOf(item.getPriority()));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                results.add(BulkAssignResultDto.failed(i, item.getAssignedUser(), "Invalid status or priority"));
+                continue;
+            }
+            activities.add(activity);
+            indexes.add(i);
+        }
+
+        // Ids come from the pooled sequence, so nothing is inserted until the batched flush at commit
+        List<Activity> saved = activityRepository.saveAll(activities);
+        for (int i = 0; i < saved.size(); i++) {
+            Activity activity = saved.get(i);
+            activityDateIndex.put(activity);
+            taskSearchIndex.put(activity);
+            taskChangeStream.created(convertToDto(activity));
+            results.add(BulkAssignResultDto.assigned(indexes.get(i), activity.getAssignedUserName(), activity.getId()));
+        }
+        resourceVersions.tasksChanged();
+        results.sort(Comparator.comparingInt(BulkAssignResultDto::getIndex));
+        return results;
+    }
+
+    /**
+     * Applies a status and/or priority to many tasks with chunked set-based UPDATEs.
+     * With a non-null assignedUserName only that user's tasks change; other ids are skipped.
+     * The in-memory index is refreshed once for the whole call, after commit.
+     *
+     * @return number of rows updated
+     */
+    @Transactional
+    public int bulkUpdateStatusAndPriority(Collection<Long> ids, Activity.ActivityStatus status,
+                                           Activity.ActivityPriority priority, String assignedUserName) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (int from = 0; from < distinctIds.size(); from += BULK_UPDATE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + BULK_UPDATE_CHUNK_SIZE, distinctIds.size()));
+            updated += activityRepository.bulkUpdateStatusAndPriority(chunk, status, priority, assignedUserName, now);
+        }
+        activityDateIndex.refreshAfterCommit(distinctIds, now);
+        taskSearchIndex.refreshAfterCommit(distinctIds);
+        taskChangeStream.updatedAfterCommit(distinctIds);
+        entityCacheSync.evictAllAfterCommit(Activity.class);
+        resourceVersions.tasksChanged();
+        return updated;
     }
 
     public Optional<ActivityDto> updateActivity(Long id, ActivityDto activityDto) {
         return activityRepository.findById(id)
                 .map(existingActivity -> {
                     // Find user by username
-                    User assignedUser = userRepository.findByUsername(activityDto.getAssignedUser())
-                            .orElseThrow(() -> new RuntimeException("User not found: " + activityDto.getAssignedUser()));
+                    User assignedUser = userService.findByUsername(activityDto.getAssignedUser());
+                    if (assignedUser == null) {
+                        throw new RuntimeException("User not found: " + activityDto.getAssignedUser());
+                    }
                     
                     existingActivity.setAssignedUser(assignedUser);
                     existingActivity.setDate(activityDto.getDate());
                     existingActivity.setDescription(activityDto.getDescription());
                     existingActivity.setStatus(activityDto.getStatus());
                     existingActivity.setPriority(activityDto.getPriority());
-                    return convertToDto(activityRepository.save(existingActivity));
+                    Activity savedActivity = activityRepository.save(existingActivity);
+                    activityDateIndex.put(savedActivity);
+                    taskSearchIndex.put(savedActivity);
+                    resourceVersions.tasksChanged();
+                    ActivityDto savedDto = convertToDto(savedActivity);
+                    taskChangeStream.updated(savedDto);
+                    return savedDto;
                 });
     }
 
+    @Transactional
     public boolean deleteActivity(Long id) {
-        if (activityRepository.existsById(id)) {
-            activityRepository.deleteById(id);
+        Optional<Activity> existing = activityRepository.findById(id);
+        if (existing.isPresent()) {
+            activityRepository.delete(existing.get());
+            rowDeletionLog.deleted(RowDeletionLog.ACTIVITIES, id);
+            activityDateIndex.remove(id);
+            taskSearchIndex.remove(id);
+            resourceVersions.tasksChanged();
+            taskChangeStream.deleted(id);
             return true;
         }
         return false;
     }
 
+    // Activities store the assignee and assigner usernames, so a rename must be copied onto them
+    @Transactional
+    public void renameUserInActivities(Long userId, String newUsername) {
+        LocalDateTime now = LocalDateTime.now();
+        activityRepository.updateAssignedUserName(userId, newUsername, now);
+        activityRepository.updateAssignedByName(userId, newUsername, now);
+        activityDateIndex.reloadAfterCommit();
+        taskSearchIndex.reloadAfterCommit();
+        resourceVersions.tasksChanged();
+        taskChangeStream.resyncAfterCommit("username-changed");
+        entityCacheSync.evictAllAfterCommit(Activity.class);
+    }
+
+    /**
+     * Ranked full-text search over task titles and descriptions, answered from the in-memory
+     * index. Only the returned page is read from the database, with one query by id.
+     *
+     * @throws IllegalStateException while the search index is still being built
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskSearchHitDto> searchTasks(String query, String assignedUser, Activity.ActivityStatus status,
+                                              LocalDate fromDate, LocalDate toDate, int page, int size, Integer descriptionLength) {
+        if (!taskSearchIndex.isReady()) {
+            throw new IllegalStateException("Task search is not available yet");
+        }
+        TaskSearchIndex.SearchResult result = taskSearchIndex.search(query, assignedUser, status, fromDate, toDate, page * size, size);
+
+        List<TaskSearchHitDto> hits = new ArrayList<>();
+        if (!result.getHits().isEmpty()) {
+            int length = descriptionLength(descriptionLength);
+            Map<Long, ActivityRowDto> rows = activityRepository.findRowsByIdIn(
+                    result.getHits().stream().map(TaskSearchIndex.Hit::getId).collect(Collectors.toList()), length).stream()
+                    .collect(Collectors.toMap(ActivityRowDto::getId, row -> row));
+            for (TaskSearchIndex.Hit hit : result.getHits()) {
+                ActivityRowDto row = rows.get(hit.getId());
+                // Deleted since the index was last updated
+                if (row != null) {
+                    hits.add(new TaskSearchHitDto(rowToDto(row, length), hit.getScore()));
+                }
+            }
+        }
+        return new PageImpl<>(hits, PageRequest.of(page, size), result.getTotal());
+    }
+
+    @Transactional(readOnly = true)
     public long countActivitiesByStatus(Activity.ActivityStatus status) {
         return activityRepository.countByStatus(status);
     }
@@ -127,14 +418,80 @@ public class ActivityService {
         return activityRepository.findById(id).orElse(null);
     }
 
+    @Transactional(readOnly = true)
     public List<ActivityDto> findActivitiesByUserAndDate(String username, LocalDate date) {
-        return activityRepository.findByAssignedUserNameAndDateOrderByCreatedAtDesc(username, date).stream()
-                .map(this::convertToDto)
+        return findActivitiesByUserAndDate(username, date, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ActivityDto> findActivitiesByUserAndDate(String username, LocalDate date, Integer descriptionLength) {
+        int length = descriptionLength(descriptionLength);
+        if (activityDateIndex.isReady()) {
+            return activityDateIndex.withDescriptions(activityDateIndex.findByUserAndDate(username, date), length).stream()
+                    .map(row -> rowToDto(row, length))
+                    .collect(Collectors.toList());
+        }
+        return activityRepository.findRowsByAssignedUserNameAndDate(username, date, length).stream()
+                .map(this::rowToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Per-day task counts for the calendar grid, folded from a single GROUP BY query.
+     * Days without tasks are omitted; detail rows are fetched separately when a day is opened.
+     */
+    @Transactional(readOnly = true)
+    public List<CalendarDaySummaryDto> getCalendarSummary(LocalDate startDate, LocalDate endDate, boolean byUser) {
+        List<ActivityCountRowDto> rows = byUser
+                ? activityRepository.countByDateBetweenPerUser(startDate, endDate)
+                : activityRepository.countByDateBetween(startDate, endDate);
+
+        Map<LocalDate, CalendarDaySummaryDto> days = new LinkedHashMap<>();
+        for (ActivityCountRowDto row : rows) {
+            CalendarDaySummaryDto day = days.computeIfAbsent(row.getDate(), CalendarDaySummaryDto::new);
+            day.setTotal(day.getTotal() + row.getCount());
+            day.getByStatus().merge(row.getStatus().name(), row.getCount(), Long::sum);
+            day.getByPriority().merge(row.getPriority().name(), row.getCount(), Long::sum);
+            if (byUser) {
+                if (day.getByUser() == null) {
+                    day.setByUser(new LinkedHashMap<>());
+                }
+                day.getByUser().merge(row.getAssignedUser(), row.getCount(), Long::sum);
+            }
+        }
+        return new ArrayList<>(days.values());
+    }
+
+    @Transactional(readOnly = true)
+    public List<CalendarTaskDto> getCalendarTasks(LocalDate startDate, LocalDate endDate, Integer descriptionLength) {
+        int length = descriptionLength(descriptionLength);
+        List<ActivityRowDto> rows = activityDateIndex.isReady()
+                ? activityDateIndex.withDescriptions(activityDateIndex.findByDateBetween(startDate, endDate), length)
+                : activityRepository.findRowsByDateBetween(startDate, endDate, length);
+        return rows.stream()
+                .map(row -> new CalendarTaskDto(
+                    row.getId(),
+                    row.getAssignedUser(),
+                    truncate(row.getDescription(), length),
+                    row.getStatus().toString(),
+                    row.getPriority().toString(),
+                    row.getDate()
+                ))
                 .collect(Collectors.toList());
     }
 
     public Activity save(Activity activity) {
-        return activityRepository.save(activity);
+        boolean existing = activity.getId() != null;
+        Activity savedActivity = activityRepository.save(activity);
+        activityDateIndex.put(savedActivity);
+        taskSearchIndex.put(savedActivity);
+        resourceVersions.tasksChanged();
+        if (existing) {
+            taskChangeStream.updated(convertToDto(savedActivity));
+        } else {
+            taskChangeStream.created(convertToDto(savedActivity));
+        }
+        return savedActivity;
     }
 
     private ActivityDto convertToDto(Activity activity) {
@@ -150,12 +507,43 @@ public class ActivityService {
         return dto;
     }
 
+    private ActivityDto rowToDto(ActivityRowDto row) {
+        return rowToDto(row, FULL_DESCRIPTION);
+    }
+
+    static ActivityDto rowToDto(ActivityRowDto row, int descriptionLength) {
+        ActivityDto dto = new ActivityDto();
+        dto.setId(row.getId());
+        dto.setAssignedUser(row.getAssignedUser());
+        dto.setDate(row.getDate());
+        dto.setDescription(truncate(row.getDescription(), descriptionLength));
+        dto.setStatus(row.getStatus());
+        dto.setPriority(row.getPriority());
+        dto.setAssignedBy(row.getAssignedBy());
+        return dto;
+    }
+
+    // Null means the full description; 0 leaves it out
+    private static int descriptionLength(Integer requested) {
+        if (requested == null || requested > FULL_DESCRIPTION) {
+            return FULL_DESCRIPTION;
+        }
+        return Math.max(requested, 0);
+    }
+
+    // Same result as the SUBSTRING in the row queries, for rows served from the in-memory index
+    private static String truncate(String description, int length) {
+        return description != null && description.length() > length ? description.substring(0, length) : description;
+    }
+
     private Activity convertToEntity(ActivityDto dto) {
         Activity activity = new Activity();
         
         // Find user by username
-        User assignedUser = userRepository.findByUsername(dto.getAssignedUser())
-                .orElseThrow(() -> new RuntimeException("User not found: " + dto.getAssignedUser()));
+        User assignedUser = userService.findByUsername(dto.getAssignedUser());
+        if (assignedUser == null) {
+            throw new RuntimeException("User not found: " + dto.getAssignedUser());
+        }
         
         activity.setAssignedUser(assignedUser);
         activity.setDate(dto.getDate());
@@ -165,22 +553,23 @@ public class ActivityService {
         
         // Set assigned by if provided
         if (dto.getAssignedBy() != null) {
-            User assignedByUser = userRepository.findByUsername(dto.getAssignedBy()).orElse(null);
+            User assignedByUser = userService.findByUsername(dto.getAssignedBy());
             activity.setAssignedBy(assignedByUser);
         }
         
         return activity;
     }
 
+    @Transactional(readOnly = true)
     public Page<ActivityDto> getOthersIncomingTasks(String currentUsername, String fromDate, int page, int size) {
         try {
             LocalDate date = LocalDate.parse(fromDate);
             Pageable pageable = PageRequest.of(page, size);
             
             // Get tasks assigned to other users (not current user) with due date today or in future
-            Page<Activity> activities = activityRepository.findOthersIncomingTasks(currentUsername, date, pageable);
+            Page<ActivityRowDto> activities = activityRepository.findOthersIncomingRowPage(currentUsername, date, FULL_DESCRIPTION, pageable);
             
-            return activities.map(this::convertToDto);
+            return activities.map(this::rowToDto);
         } catch (Exception e) {
             throw new RuntimeException("Error fetching others' incoming tasks: " + e.getMessage());
         }
@@ -0,0 +1,271 @@
+package com.figma.webapp.service;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.figma.webapp.entity.CacheInvalidation;
+import com.figma.webapp.repository.CacheInvalidationRepository;
+import com.figma.webapp.util.AfterCommit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Carries second-level cache evictions between instances through the cache_invalidations table,
+ * so no message broker is needed.
+ *
+ * Post-commit Hibernate listeners note every update and delete of a cached entity; the notes are
+ * appended to the table in batches and every instance polls it, evicting what the others changed.
+ * Inserts need nothing, as no instance can have cached a row that did not exist. Set-based JPQL
+ * updates bypass the listeners, so their callers record an entity-wide eviction with
+ * {@link #evictAllAfterCommit(Class)}. Another instance's write is visible here within about two
+ * sync intervals; the region TTL bounds staleness should a note ever be lost.
+ */
+@Component
+public class EntityCacheSync implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCacheSync.class);
+
+    // Auto-increment ids can commit slightly out of order, so each poll re-reads this far back
+    private static final int ID_LOOKBACK = 200;
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.l2-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.l2-cache.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${app.l2-cache.purge-chunk-size:500}")
+    private int purgeChunkSize;
+
+    private final String instance = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+
+    private final Queue<CacheInvalidation> pending = new ConcurrentLinkedQueue<>();
+
+    // Read position in the log and the ids already handled within the look-back window;
+    // only touched by the scheduler thread
+    private long highestSeen = -1;
+    private final NavigableSet<Long> handled = new TreeSet<>();
+
+    private Counter publishedCounter;
+
+    private Counter appliedCounter;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+
+        publishedCounter = Counter.builder("cache.invalidations")
+                .description("Second-level cache evictions written to the shared log")
+                .tag("direction", "published")
+                .register(meterRegistry);
+        appliedCounter = Counter.builder("cache.invalidations")
+                .description("Second-level cache evictions made for other instances' writes")
+                .tag("direction", "applied")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidations.pending", pending, Queue::size)
+                .description("Evictions waiting to be written to the shared log")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        // A changed natural id leaves stale username mappings elsewhere; those can only be dropped wholesale
+        boolean naturalIdChanged = false;
+        if (persister.hasNaturalIdentifier()) {
+            Object[] oldState = event.getOldState();
+            for (int property : persister.getNaturalIdentifierProperties()) {
+                naturalIdChanged |= oldState == null || !Objects.equals(oldState[property], event.getState()[property]);
+            }
+        }
+        record(persister.getEntityName(), naturalIdChanged ? null : (Long) event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rolled back: nothing changed in the database
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getPersister().getEntityName(), (Long) event.getId());
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rolled back: nothing changed in the database
+    }
+
+    /**
+     * For set-based updates of a cached entity. Hibernate already evicts the entity locally
+     * when such a statement runs; this makes the other instances do the same after commit.
+     */
+    public void evictAllAfterCommit(Class<?> entityClass) {
+        if (enabled) {
+            AfterCommit.run(() -> record(entityClass.getName(), null));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.l2-cache.sync-interval-ms:1000}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            publishPending();
+            applyRemote();
+        } catch (RuntimeException e) {
+            // Notes stay queued and the read position is unchanged; the next run retries
+            logger.warn("Second-level cache sync failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${app.l2-cache.purge-cron:0 15 * * * *}")
+    @LeaseLocked(name = "cache-invalidation-purge")
+    public void purgeOldInvalidations() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        int total = 0;
+        try {
+            while (true) {
+                Integer deleted = transactionTemplate.execute(status -> {
+                    List<Long> ids = cacheInvalidationRepository.findIdsCreatedBefore(before, PageRequest.of(0, purgeChunkSize));
+                    return ids.isEmpty() ? 0 : cacheInvalidationRepository.deleteByIdIn(ids);
+                });
+                if (deleted == null || deleted == 0) {
+                    break;
+                }
+                total += deleted;
+            }
+            if (total > 0) {
+                logger.info("Purged {} cache invalidation log entries", total);
+            }
+        } catch (Exception e) {
+            logger.error("Error occurred while purging the cache invalidation log", e);
+        }
+    }
+
+    private void record(String entityName, Long entityId) {
+        pending.add(new CacheInvalidation(entityName, entityId, instance, LocalDateTime.now()));
+    }
+
+    private void publishPending() {
+        // Collapse repeated notes for the same row into one
+        Map<String, CacheInvalidation> batch = new LinkedHashMap<>();
+        for (CacheInvalidation note; (note = pending.poll()) != null; ) {
+            batch.putIfAbsent(note.getEntityName() + "#" + note.getEntityId(), note);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> cacheInvalidationRepository.saveAll(batch.values()));
+            publishedCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            pending.addAll(batch.values());
+            throw e;
+        }
+    }
+
+    private void applyRemote() {
+        if (highestSeen < 0) {
+            // Nothing is cached yet, so earlier entries do not matter
+            Long maxId = cacheInvalidationRepository.findMaxId();
+            highestSeen = maxId != null ? maxId : 0;
+            return;
+        }
+
+        Cache cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        long afterId = Math.max(0, highestSeen - ID_LOOKBACK);
+        List<CacheInvalidation> rows;
+        do {
+            rows = cacheInvalidationRepository.findAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+            List<CacheInvalidation> remote = new ArrayList<>();
+            for (CacheInvalidation row : rows) {
+                if (handled.add(row.getId()) && !instance.equals(row.getOrigin())) {
+                    remote.add(row);
+                }
+                afterId = row.getId();
+                highestSeen = Math.max(highestSeen, row.getId());
+            }
+            for (CacheInvalidation row : remote) {
+                evict(cache, row);
+            }
+            appliedCounter.increment(remote.size());
+        } while (rows.size() == BATCH_SIZE);
+
+        handled.headSet(highestSeen - ID_LOOKBACK).clear();
+    }
+
+    private void evict(Cache cache, CacheInvalidation row) {
+        try {
+            if (row.getEntityId() == null) {
+                cache.evictEntityData(row.getEntityName());
+                cache.evictNaturalIdData(row.getEntityName());
+            } else {
+                cache.evictEntityData(row.getEntityName(), row.getEntityId());
+            }
+        } catch (RuntimeException e) {
+            // e.g. an entity only a newer build of the application caches
+            logger.debug("Skipping cache invalidation {} for {}: {}", row.getId(), row.getEntityName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.figma.webapp.service;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.figma.webapp.entity.Event;
+import com.figma.webapp.entity.RowDeletion;
+import com.figma.webapp.repository.EventRepository;
+
+/**
+ * In-memory character-bigram index over event titles and descriptions, used by EventService
+ * when the database has no FULLTEXT index (H2, or a dev schema built by ddl-auto).
+ *
+ * Matching keeps the semantics of the old case-insensitive '%query%' LIKE search: the query's
+ * rarest bigram narrows the candidates and each one is confirmed with a substring check.
+ * Matches in the title count double, and more occurrences rank higher.
+ *
+ * Inactive until EventService calls activate(); it then loads all events, follows
+ * EventService writes and reloads periodically if the latest update time or highest id in the
+ * database has moved past it. Events deleted by other instances are read from the row deletion
+ * log and dropped.
+ */
+@Component
+public class EventSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchIndex.class);
+
+    private static final int GRAM = 2;
+
+    // More deletions than this since the last check are repaired with a reload
+    private static final int MAX_DELETIONS = 1000;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RowDeletionLog rowDeletionLog;
+
+    private volatile boolean active;
+
+    private volatile Snapshot snapshot;
+
+    public boolean isReady() {
+        return active && snapshot != null;
+    }
+
+    public void activate() {
+        active = true;
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.event-search.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.event-search.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Snapshot current = snapshot;
+        if (!active || current == null) {
+            return;
+        }
+        LocalDateTime latest = eventRepository.findLatestUpdate();
+        Long maxId = eventRepository.findMaxId();
+        boolean newerInDb = latest != null
+                && (current.latestUpdate == null || latest.truncatedTo(ChronoUnit.MICROS).isAfter(current.latestUpdate.truncatedTo(ChronoUnit.MICROS)));
+        if (newerInDb || (maxId != null && maxId > current.maxId)) {
+            logger.info("Event search index drifted from the database (latest update {}, highest id {}), reloading", latest, maxId);
+            reload();
+            return;
+        }
+        List<RowDeletion> deletions = rowDeletionLog.readFrom(RowDeletionLog.EVENTS, current.deletionsSeen, MAX_DELETIONS + 1);
+        if (deletions.stream().filter(deletion -> deletion.getId() > current.deletionsSeen).count() > MAX_DELETIONS) {
+            logger.info("Over {} events were deleted since the last check, reloading the event search index", MAX_DELETIONS);
+            reload();
+            return;
+        }
+        apply(index -> deletions.forEach(deletion -> {
+            index.remove(deletion.getEntityId());
+            index.deletionsSeen = Math.max(index.deletionsSeen, deletion.getId());
+        }));
+    }
+
+    public synchronized void reload() {
+        Snapshot fresh = new Snapshot();
+        // Read first, so deletes that commit during the load are applied by the next check
+        fresh.deletionsSeen = rowDeletionLog.latestId(RowDeletionLog.EVENTS);
+        eventRepository.findAll().forEach(fresh::add);
+        snapshot = fresh;
+        logger.info("Indexed {} events for search", fresh.docs.size());
+    }
+
+    public void put(Event event) {
+        if (active) {
+            apply(current -> {
+                current.remove(event.getId());
+                current.add(event);
+            });
+        }
+    }
+
+    public void remove(Long id) {
+        if (active) {
+            apply(current -> current.remove(id));
+        }
+    }
+
+    /**
+     * @return the total number of matching events and the requested slice of them, best first
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        Snapshot current = snapshot;
+        String needle = fold(query);
+        if (needle.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+
+        // Every match contains all of the query's bigrams, so the smallest posting list is enough
+        Collection<Long> candidates = current.docs.keySet();
+        for (String gram : grams(needle)) {
+            Set<Long> ids = current.postings.get(gram);
+            if (ids == null) {
+                return new SearchResult(0, List.of());
+            }
+            if (ids.size() < candidates.size()) {
+                candidates = ids;
+            }
+        }
+
+        int wanted = offset + limit;
+        PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingInt(Hit::getScore).thenComparing(Hit::getId));
+        long total = 0;
+        for (Long id : candidates) {
+            Doc doc = current.docs.get(id);
+            if (doc == null) {
+                continue;
+            }
+            int score = 2 * occurrences(doc.title, needle) + occurrences(doc.description, needle);
+            if (score == 0) {
+                continue;
+            }
+            total++;
+            top.add(new Hit(id, score));
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingInt(Hit::getScore).reversed().thenComparing(Hit::getId, Comparator.reverseOrder()));
+        return new SearchResult(total, offset < hits.size() ? hits.subList(offset, hits.size()) : List.of());
+    }
+
+    // Case- and accent-insensitive, like MySQL's default collation
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        return COMBINING_MARKS.matcher(Normalizer.normalize(text.trim(), Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> grams(String text) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static int occurrences(String text, String needle) {
+        int count = 0;
+        for (int at = text.indexOf(needle); at >= 0; at = text.indexOf(needle, at + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private synchronized void apply(Consumer<Snapshot> change) {
+        Snapshot current = snapshot;
+        if (current != null) {
+            change.accept(current);
+        }
+    }
+
+    public static final class SearchResult {
+        private final long total;
+        private final List<Hit> hits;
+
+        private SearchResult(long total, List<Hit> hits) {
+            this.total = total;
+            this.hits = hits;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+    }
+
+    public static final class Hit {
+        private final Long id;
+        private final int score;
+
+        private Hit(Long id, int score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public int getScore() {
+            return score;
+        }
+    }
+
+    private static final class Doc {
+        private final String title;
+        private final String description;
+
+        private Doc(String title, String description) {
+            this.title = title;
+            this.description = description;
+        }
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+        private final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+        private volatile LocalDateTime latestUpdate;
+        // Highest event id added and highest row deletion log entry applied
+        private volatile long maxId;
+        private volatile long deletionsSeen;
+
+        private void add(Event event) {
+            Doc doc = new Doc(fold(event.getTitle()), fold(event.getDescription()));
+            for (String text : List.of(doc.title, doc.description)) {
+                for (String gram : grams(text)) {
+                    postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(event.getId());
+                }
+            }
+            docs.put(event.getId(), doc);
+            maxId = Math.max(maxId, event.getId());
+
+            LocalDateTime updatedAt = event.getUpdatedAt();
+            if (updatedAt != null && (latestUpdate == null || updatedAt.isAfter(latestUpdate))) {
+                latestUpdate = updatedAt;
+            }
+        }
+
+        private void remove(Long id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            for (String text : List.of(doc.title, doc.description)) {
+                for (String gram : grams(text)) {
+                    Set<Long> ids = postings.get(gram);
+                    if (ids != null) {
+                        ids.remove(id);
+                        if (ids.isEmpty()) {
+                            postings.remove(gram, ids);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -2,11 +2,23 @@ package com.figma.webapp.service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.figma.webapp.dto.EventDto;
 import com.figma.webapp.entity.Event;
@@ -15,15 +27,60 @@ import com.figma.webapp.repository.EventRepository;
 @Service
 public class EventService {
 
+    private static final Logger logger = LoggerFactory.getLogger(EventService.class);
+
+    // Cap for the unpaged searchEvents(query)
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    // MySQL's default ngram_token_size; shorter queries cannot use the FULLTEXT index
+    private static final int MIN_FULLTEXT_QUERY_LENGTH = 2;
+
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private RowDeletionLog rowDeletionLog;
+
+    // auto, fulltext or memory
+    @Value("${app.event-search.mode:auto}")
+    private String searchMode;
+
+    private volatile boolean fullTextSearch;
+
+    /**
+     * Picks the search path once the schema is in place: MySQL FULLTEXT when the events index
+     * from V7 exists (or mode=fulltext), otherwise the in-memory n-gram index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initSearch() {
+        fullTextSearch = "fulltext".equalsIgnoreCase(searchMode)
+                || ("auto".equalsIgnoreCase(searchMode) && hasFullTextIndex());
+        if (fullTextSearch) {
+            logger.info("Event search uses the FULLTEXT index");
+            return;
+        }
+        try {
+            eventSearchIndex.activate();
+        } catch (RuntimeException e) {
+            // Searches fall back to the LIKE scan until the next reconciliation succeeds
+            logger.error("Failed to build the event search index", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public List<EventDto> getAllEvents() {
         return eventRepository.findByOrderByDateAscCreatedAtDesc().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<EventDto> getEventsByDate(LocalDate date) {
         return eventRepository.findByDateOrderByCreatedAtDesc(date).stream()
                 .map(this::convertToDto)
@@ -33,6 +90,8 @@ public class EventService {
     public EventDto createEvent(EventDto eventDto) {
         Event event = convertToEntity(eventDto);
         Event savedEvent = eventRepository.save(event);
+        eventSearchIndex.put(savedEvent);
+        resourceVersions.changed(ResourceVersions.EVENTS);
         return convertToDto(savedEvent);
     }
 
@@ -51,24 +110,76 @@ public class EventService {
                     if (eventDto.getDescription() != null) {
                         existingEvent.setDescription(eventDto.getDescription());
                     }
-                    return convertToDto(eventRepository.save(existingEvent));
+                    Event savedEvent = eventRepository.save(existingEvent);
+                    eventSearchIndex.put(savedEvent);
+                    resourceVersions.changed(ResourceVersions.EVENTS);
+                    return convertToDto(savedEvent);
                 });
     }
 
+    @Transactional
     public boolean deleteEvent(Long id) {
         if (eventRepository.existsById(id)) {
             eventRepository.deleteById(id);
+            rowDeletionLog.deleted(RowDeletionLog.EVENTS, id);
+            eventSearchIndex.remove(id);
+            resourceVersions.changed(ResourceVersions.EVENTS);
             return true;
         }
         return false;
     }
 
+    // Best MAX_SEARCH_RESULTS matches by relevance
     public List<EventDto> searchEvents(String query) {
-        return eventRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(query).stream()
+        return searchEvents(query, 0, MAX_SEARCH_RESULTS).getContent();
+    }
+
+    /**
+     * Substring search over event titles and descriptions, most relevant first. Uses the MySQL
+     * FULLTEXT index or the in-memory n-gram index; only the requested page is loaded.
+     */
+    @Transactional(readOnly = true)
+    public Page<EventDto> searchEvents(String query, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        String trimmed = query.trim();
+
+        if (fullTextSearch && trimmed.length() >= MIN_FULLTEXT_QUERY_LENGTH) {
+            // A quoted phrase over the ngram index matches consecutive character pairs, i.e. a substring
+            String phrase = "\"" + trimmed.replace("\"", " ") + "\"";
+            Page<EventRepository.ScoredId> hits = eventRepository.searchFullText(phrase, pageRequest);
+            return new PageImpl<>(loadInOrder(hits.map(EventRepository.ScoredId::getId).getContent()), pageRequest, hits.getTotalElements());
+        }
+        if (!fullTextSearch && eventSearchIndex.isReady()) {
+            EventSearchIndex.SearchResult result = eventSearchIndex.search(trimmed, page * size, size);
+            List<Long> ids = result.getHits().stream().map(EventSearchIndex.Hit::getId).collect(Collectors.toList());
+            return new PageImpl<>(loadInOrder(ids), pageRequest, result.getTotal());
+        }
+        return eventRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(trimmed, pageRequest)
+                .map(this::convertToDto);
+    }
+
+    private List<EventDto> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Event> events = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        return ids.stream()
+                .map(events::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    private boolean hasFullTextIndex() {
+        try {
+            return eventRepository.countFullTextIndexes() > 0;
+        } catch (RuntimeException e) {
+            // Not MySQL, or no access to information_schema
+            return false;
+        }
+    }
+
     private EventDto convertToDto(Event event) {
         EventDto dto = new EventDto();
         dto.setId(event.getId());
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,6 +18,10 @@ public class InteractionService {
     @Autowired
     private InteractionRepository interactionRepository;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Transactional(readOnly = true)
     public List<InteractionDto> getRecentInteractions(int limit) {
         Pageable pageable = PageRequest.of(0, limit);
         return interactionRepository.findByOrderByTimestampDesc(pageable).stream()
@@ -24,6 +29,7 @@ public class InteractionService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<InteractionDto> getInteractionsByType(String type) {
         return interactionRepository.findByTypeOrderByTimestampDesc(type).stream()
                 .map(this::convertToDto)
@@ -33,13 +39,16 @@ public class InteractionService {
     public InteractionDto createInteraction(InteractionDto interactionDto) {
         Interaction interaction = convertToEntity(interactionDto);
         Interaction savedInteraction = interactionRepository.save(interaction);
+        resourceVersions.changed(ResourceVersions.INTERACTIONS);
         return convertToDto(savedInteraction);
     }
 
+    @Transactional(readOnly = true)
     public long getTotalInteractions() {
         return interactionRepository.count();
     }
 
+    @Transactional(readOnly = true)
     public long getInteractionCountByType(String type) {
         return interactionRepository.countByType(type);
     }
@@ -0,0 +1,270 @@
+package com.figma.webapp.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.figma.webapp.entity.JobLease;
+import com.figma.webapp.exception.LeaseLostException;
+import com.figma.webapp.repository.JobLeaseRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Database-backed leases that keep a job to one instance at a time.
+ *
+ * Each lease is a row in job_leases. An instance takes it with a conditional UPDATE that only
+ * matches once the previous lease has expired, and bumps the fencing token as it does. While the
+ * job runs, a heartbeat extends the lease every third of its duration; if the holder dies, the
+ * lease simply runs out. Writes made under a lease can call checkFence in their own transaction
+ * to confirm the token is still current before committing.
+ *
+ * Lease expiry is compared against each instance's clock, so lease durations should comfortably
+ * exceed any clock skew between nodes. For the same reason a released lease stays taken until
+ * app.job-lease.min-hold-ms after it was acquired: every instance fires the same schedule, and
+ * without the hold a short job could finish and release before a slightly late instance tries,
+ * which would then run the job a second time.
+ */
+@Service
+public class JobLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLeaseService.class);
+
+    // Lease held by the current thread, set while a @LeaseLocked method runs
+    private static final ThreadLocal<Lease> CURRENT = new ThreadLocal<>();
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.job-lease.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.job-lease.owner:}")
+    private String owner;
+
+    // Should exceed the spread in when instances fire the same schedule, clock skew included
+    @Value("${app.job-lease.min-hold-ms:30000}")
+    private long minHoldMs;
+
+    // Lease bookkeeping commits on its own, whatever the caller's transaction does
+    private TransactionTemplate newTransaction;
+
+    private ScheduledExecutorService heartbeats;
+
+    @PostConstruct
+    void init() {
+        if (owner == null || owner.isBlank()) {
+            owner = defaultOwner();
+        }
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes the named lease if no other instance holds it. Database errors are logged and
+     * treated as "not acquired", so a job is skipped rather than run unguarded.
+     */
+    public Optional<Lease> tryAcquire(String name, Duration leaseDuration) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            ensureLeaseRow(name);
+            LocalDateTime acquiredAt = LocalDateTime.now();
+            Long fencingToken = newTransaction.execute(status -> {
+                if (jobLeaseRepository.acquire(name, owner, acquiredAt, acquiredAt.plus(leaseDuration)) == 0) {
+                    return null;
+                }
+                return jobLeaseRepository.findFencingToken(name);
+            });
+            if (fencingToken == null) {
+                outcome = "busy";
+                return Optional.empty();
+            }
+            outcome = "acquired";
+
+            Lease lease = new Lease(name, fencingToken, leaseDuration, acquiredAt, CURRENT.get());
+            long period = Math.max(leaseDuration.toMillis() / 3, 1000);
+            lease.heartbeat = heartbeats.scheduleAtFixedRate(() -> heartbeat(lease), period, period, TimeUnit.MILLISECONDS);
+            CURRENT.set(lease);
+            logger.debug("Acquired lease {} with fencing token {}", name, fencingToken);
+            return Optional.of(lease);
+        } catch (RuntimeException e) {
+            logger.error("Failed to acquire lease {}", name, e);
+            return Optional.empty();
+        } finally {
+            sample.stop(Timer.builder("jobs.lease.acquire")
+                    .description("Time taken to try to acquire a job lease")
+                    .tag("job", name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    public void release(Lease lease) {
+        lease.heartbeat.cancel(false);
+        if (lease.previous != null) {
+            CURRENT.set(lease.previous);
+        } else {
+            CURRENT.remove();
+        }
+        Timer.builder("jobs.lease.held")
+                .description("How long job leases were held")
+                .tag("job", lease.name)
+                .register(meterRegistry)
+                .record(System.nanoTime() - lease.acquiredNanos, TimeUnit.NANOSECONDS);
+        // Held until at least acquiredAt + min hold, so instances firing a little later skip this run
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime heldUntil = lease.acquiredAt.plus(Duration.ofMillis(minHoldMs));
+        LocalDateTime leaseUntil = heldUntil.isAfter(now) ? heldUntil : now;
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    jobLeaseRepository.release(lease.name, lease.fencingToken, leaseUntil));
+        } catch (RuntimeException e) {
+            // The lease still runs out on its own
+            logger.warn("Failed to release lease {}", lease.name, e);
+        }
+    }
+
+    // Lease held by the calling thread, or null outside a @LeaseLocked method
+    public Lease currentLease() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Confirms, inside the caller's transaction, that the lease has not been taken over and
+     * extends it. The UPDATE's row lock then holds off any takeover until that transaction
+     * ends, so the caller's writes commit only while its fencing token is current.
+     *
+     * @throws LeaseLostException if another instance now holds the lease
+     */
+    public void checkFence(Lease lease) {
+        if (lease == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (jobLeaseRepository.extend(lease.name, lease.fencingToken, now, now.plus(lease.duration)) == 0) {
+            markLost(lease);
+            throw new LeaseLostException("Lease " + lease.name + " with fencing token " + lease.fencingToken + " is no longer held");
+        }
+    }
+
+    private void heartbeat(Lease lease) {
+        try {
+            Integer extended = newTransaction.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                return jobLeaseRepository.extend(lease.name, lease.fencingToken, now, now.plus(lease.duration));
+            });
+            if (extended == null || extended == 0) {
+                markLost(lease);
+                lease.heartbeat.cancel(false);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to extend lease {}", lease.name, e);
+        }
+    }
+
+    private void markLost(Lease lease) {
+        if (!lease.lost) {
+            lease.lost = true;
+            logger.warn("Lease {} with fencing token {} was taken over by another instance", lease.name, lease.fencingToken);
+            Counter.builder("jobs.lease.lost")
+                    .description("Job leases lost while the job was still running")
+                    .tag("job", lease.name)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private void ensureLeaseRow(String name) {
+        if (jobLeaseRepository.existsById(name)) {
+            return;
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> jobLeaseRepository.save(new JobLease(name)));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it first
+        }
+    }
+
+    private static String defaultOwner() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+
+    public static final class Lease {
+        private final String name;
+        private final Long fencingToken;
+        private final Duration duration;
+        private final LocalDateTime acquiredAt;
+        private final Lease previous;
+        private final long acquiredNanos = System.nanoTime();
+        private volatile boolean lost;
+        private ScheduledFuture<?> heartbeat;
+
+        private Lease(String name, Long fencingToken, Duration duration, LocalDateTime acquiredAt, Lease previous) {
+            this.name = name;
+            this.fencingToken = fencingToken;
+            this.duration = duration;
+            this.acquiredAt = acquiredAt;
+            this.previous = previous;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Long getFencingToken() {
+            return fencingToken;
+        }
+
+        // Set once a heartbeat or fence check finds the lease taken over
+        public boolean isLost() {
+            return lost;
+        }
+    }
+}
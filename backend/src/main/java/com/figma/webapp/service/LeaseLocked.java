@@ -0,0 +1,23 @@
+package com.figma.webapp.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method, typically an @Scheduled job, on at most one instance at a time.
+ * Instances that cannot take the named lease skip the run; see JobLeaseService.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LeaseLocked {
+
+    // Lease name shared by all instances, e.g. "overdue-tasks"
+    String name();
+
+    // How long the lease survives without a heartbeat, e.g. if the holder dies
+    long leaseSeconds() default 300;
+}
@@ -0,0 +1,64 @@
+package com.figma.webapp.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.figma.webapp.repository.PasswordResetTokenRepository;
+
+@Service
+public class PasswordResetTokenCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordResetTokenCleanupService.class);
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.email.reset-token-purge-chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Scheduled task that deletes expired password reset tokens.
+     * 
+     * Rows are removed in chunks of {@code chunkSize}, each in its own short transaction,
+     * so a large backlog never holds locks on the table for long.
+     * Default cron "0 0 * * * *" runs at the start of every hour.
+     */
+    @Scheduled(cron = "${app.email.reset-token-purge-cron:0 0 * * * *}")
+    @LeaseLocked(name = "reset-token-purge")
+    public void purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+
+        try {
+            while (true) {
+                Integer deleted = transactionTemplate.execute(status -> {
+                    List<Long> ids = passwordResetTokenRepository.findExpiredTokenIds(now, PageRequest.of(0, chunkSize));
+                    return ids.isEmpty() ? 0 : passwordResetTokenRepository.deleteByIdIn(ids);
+                });
+                if (deleted == null || deleted == 0) {
+                    break;
+                }
+                total += deleted;
+                logger.debug("Deleted {} expired password reset tokens ({} so far)", deleted, total);
+            }
+
+            if (total > 0) {
+                logger.info("Purged {} expired password reset tokens", total);
+            }
+        } catch (Exception e) {
+            logger.error("Error occurred while purging expired password reset tokens", e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.figma.webapp.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.figma.webapp.entity.RefreshToken;
+import com.figma.webapp.entity.User;
+import com.figma.webapp.repository.RefreshTokenRepository;
+import com.figma.webapp.util.SecureTokens;
+
+/**
+ * Issues and rotates opaque refresh tokens so clients can obtain new short-lived
+ * access tokens without re-entering credentials.
+ *
+ * Only the SHA-256 of each token is stored, so a refresh is one indexed lookup
+ * and no password hashing. Every refresh consumes the presented token and issues
+ * a new one in the same family; presenting an already used token revokes the family.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationMs;
+
+    public record Rotation(User user, String refreshToken) {}
+
+    @Transactional
+    public String issue(User user) {
+        return create(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consumes the given refresh token and returns a replacement, or empty if the token
+     * is unknown, expired, revoked, reused, or predates a token version bump.
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String rawToken) {
+        Optional<RefreshToken> tokenOpt = refreshTokenRepository.findByTokenHash(SecureTokens.sha256Hex(rawToken));
+        if (tokenOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken current = tokenOpt.get();
+        if (current.getRevoked() || current.isExpired()) {
+            return Optional.empty();
+        }
+
+        if (current.getUsed() || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            // A consumed token was presented again: assume it leaked and cut off the whole family
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId());
+            logger.warn("Refresh token reuse detected for family {}, revoked {} tokens", current.getFamilyId(), revoked);
+            return Optional.empty();
+        }
+
+        User user = current.getUser();
+        if (user.getTokenVersion() != current.getTokenVersion()) {
+            // Password reset or role change since this family was issued
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            return Optional.empty();
+        }
+
+        return Optional.of(new Rotation(user, create(user, current.getFamilyId())));
+    }
+
+    /**
+     * Ends the session the given refresh token belongs to by revoking its family. Tokens of
+     * other users are left alone. Returns whether a family was revoked.
+     */
+    @Transactional
+    public boolean revokeFamily(String rawToken, Long userId) {
+        Optional<RefreshToken> tokenOpt = refreshTokenRepository.findByTokenHash(SecureTokens.sha256Hex(rawToken));
+        if (tokenOpt.isEmpty() || !tokenOpt.get().getUser().getId().equals(userId)) {
+            return false;
+        }
+        refreshTokenRepository.revokeFamily(tokenOpt.get().getFamilyId());
+        return true;
+    }
+
+    // Ends every session of the user
+    @Transactional
+    public int revokeAllForUser(Long userId) {
+        return refreshTokenRepository.revokeAllForUser(userId);
+    }
+
+    @Scheduled(cron = "${jwt.refresh-purge-cron:0 30 3 * * *}")
+    @LeaseLocked(name = "refresh-token-purge")
+    @Transactional
+    public void purgeExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Purged {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String create(User user, String familyId) {
+        String rawToken = SecureTokens.newToken();
+        LocalDateTime expiryDate = LocalDateTime.now().plusNanos(refreshExpirationMs * 1_000_000);
+        refreshTokenRepository.save(new RefreshToken(SecureTokens.sha256Hex(rawToken), familyId, user,
+                user.getTokenVersion(), expiryDate));
+        return rawToken;
+    }
+}
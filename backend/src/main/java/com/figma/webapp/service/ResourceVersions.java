@@ -0,0 +1,178 @@
+package com.figma.webapp.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.figma.webapp.repository.ActivityRepository;
+import com.figma.webapp.repository.EventRepository;
+import com.figma.webapp.repository.InteractionRepository;
+import com.figma.webapp.repository.UserRepository;
+import com.figma.webapp.util.AfterCommit;
+
+/**
+ * ETags of the polled read endpoints, taken from the state of the shared database so that every
+ * instance gives the same data the same tag, including across restarts. A request whose
+ * If-None-Match still matches is answered with 304 before any query runs or any JSON is serialized.
+ *
+ * A scope's state is the latest updated_at and the highest id of its table, both read from an
+ * index, plus for tasks and events the latest row_deletions entry, since a delete moves neither
+ * of the others. Writes made here mark their scopes stale after commit, so the next tag re-reads
+ * them; writes made on other instances are picked up by a poll every app.etag.sync-interval-ms.
+ *
+ * Computing a tag also records on the request when its scopes last changed, as seen by this
+ * instance. With a read replica, ReadWriteRoutingDataSource reads such requests from the primary
+ * while that change may not have reached the replica, so a stale body is never sent under a
+ * current tag.
+ */
+@Component
+public class ResourceVersions {
+
+    // Clients must revalidate every time; responses are per user, so shared caches must not store them
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    static final String TASKS = "tasks";
+    static final String EVENTS = "events";
+    static final String USERS = "users";
+    static final String INTERACTIONS = "interactions";
+
+    private static final String TAGGED_CHANGE_ATTRIBUTE = ResourceVersions.class.getName() + ".taggedChangeAt";
+
+    // Last observed database state per scope
+    private final Map<String, String> signatures = new ConcurrentHashMap<>();
+
+    // Scopes written here since their state was last read
+    private final Set<String> stale = ConcurrentHashMap.newKeySet();
+
+    // When this instance last saw each scope change, by a local write or the sync
+    private final Map<String, Long> changedAt = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private RowDeletionLog rowDeletionLog;
+
+    public void tasksChanged() {
+        changed(TASKS);
+    }
+
+    public void changed(String scope) {
+        AfterCommit.run(() -> stale.add(scope));
+    }
+
+    // Team-wide task views such as the calendar
+    public String tasksTag() {
+        return tag(null, TASKS);
+    }
+
+    // One user's own task lists; the username is folded in so users never share a tag
+    public String userTasksTag(String username) {
+        return tag(Integer.toHexString(username.hashCode()), TASKS);
+    }
+
+    public String eventsTag() {
+        return tag(null, EVENTS);
+    }
+
+    public String analyticsTag() {
+        return tag(null, TASKS, EVENTS, USERS, INTERACTIONS);
+    }
+
+    /**
+     * When the scopes of the tags computed for the current request last changed, in epoch
+     * milliseconds; 0 if no tag was computed or outside of a request.
+     */
+    public static long taggedChangeAt() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object changed = attributes != null ? attributes.getAttribute(TAGGED_CHANGE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) : null;
+        return changed != null ? (Long) changed : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.etag.sync-interval-ms:5000}")
+    public void syncWithDatabase() {
+        for (String scope : List.of(TASKS, EVENTS, USERS, INTERACTIONS)) {
+            stale.remove(scope);
+            refresh(scope);
+        }
+    }
+
+    private String signature(String scope) {
+        boolean written = stale.remove(scope);
+        String signature = signatures.get(scope);
+        return written || signature == null ? refresh(scope) : signature;
+    }
+
+    // Reads the scope's state and notes the time if it moved since the last read
+    private String refresh(String scope) {
+        String signature = switch (scope) {
+            case TASKS -> stamp(activityRepository.findLatestUpdate()) + "." + activityRepository.findMaxId()
+                    + "." + rowDeletionLog.latestId(RowDeletionLog.ACTIVITIES);
+            case EVENTS -> stamp(eventRepository.findLatestUpdate()) + "." + eventRepository.findMaxId()
+                    + "." + rowDeletionLog.latestId(RowDeletionLog.EVENTS);
+            case USERS -> stamp(userRepository.findLatestUpdate()) + "." + userRepository.findMaxId();
+            // Interactions are append-only
+            case INTERACTIONS -> String.valueOf(interactionRepository.findMaxId());
+            default -> throw new IllegalArgumentException("Unknown scope " + scope);
+        };
+        // Time first: whoever sees the new state also sees when it changed
+        if (!signature.equals(signatures.get(scope))) {
+            changedAt.put(scope, System.currentTimeMillis());
+        }
+        signatures.put(scope, signature);
+        return signature;
+    }
+
+    // Microseconds since the epoch in base 36; the columns keep microseconds
+    private static String stamp(LocalDateTime time) {
+        if (time == null) {
+            return "0";
+        }
+        Instant instant = time.toInstant(ZoneOffset.UTC);
+        return Long.toString(instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000, 36);
+    }
+
+    private String tag(String key, String... scopes) {
+        StringBuilder tag = new StringBuilder("W/\"");
+        if (key != null) {
+            tag.append(key).append('-');
+        }
+        long latestChange = 0;
+        for (int i = 0; i < scopes.length; i++) {
+            if (i > 0) {
+                tag.append('-');
+            }
+            tag.append(signature(scopes[i]));
+            latestChange = Math.max(latestChange, changedAt.getOrDefault(scopes[i], 0L));
+        }
+        rememberTaggedChange(latestChange);
+        return tag.append('"').toString();
+    }
+
+    private static void rememberTaggedChange(long latestChange) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && latestChange > taggedChangeAt()) {
+            attributes.setAttribute(TAGGED_CHANGE_ATTRIBUTE, latestChange, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
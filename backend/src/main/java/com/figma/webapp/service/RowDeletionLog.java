@@ -0,0 +1,93 @@
+package com.figma.webapp.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.figma.webapp.entity.RowDeletion;
+import com.figma.webapp.repository.RowDeletionRepository;
+
+/**
+ * Shared log of deleted task and event ids in the row_deletions table.
+ *
+ * Deleting a row leaves the latest updated_at and the highest id of its table as they were, so
+ * those indexed lookups alone cannot tell that another instance deleted something. Delete paths
+ * add an entry here in their own transaction; the ETag sync compares the latest entry id, and
+ * the in-memory indexes and the task stream read the entries to drop the deleted rows.
+ */
+@Component
+public class RowDeletionLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(RowDeletionLog.class);
+
+    public static final String ACTIVITIES = "activities";
+    public static final String EVENTS = "events";
+
+    // Auto-increment ids can commit slightly out of order, so readers re-read this far back
+    private static final int ID_LOOKBACK = 200;
+
+    @Autowired
+    private RowDeletionRepository rowDeletionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.row-deletions.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${app.row-deletions.purge-chunk-size:500}")
+    private int purgeChunkSize;
+
+    // Joins the caller's transaction, so the entry commits or rolls back with the delete
+    public void deleted(String table, Long id) {
+        rowDeletionRepository.save(new RowDeletion(table, id, LocalDateTime.now()));
+    }
+
+    // Id of the table's latest entry, 0 if there is none
+    public long latestId(String table) {
+        Long maxId = rowDeletionRepository.findMaxId(table);
+        return maxId != null ? maxId : 0;
+    }
+
+    /**
+     * The table's entries from a little before highestSeen on, oldest first: the look-back plus
+     * at most limit entries after it. The look-back repeats entries already read, so readers must
+     * apply them idempotently.
+     */
+    public List<RowDeletion> readFrom(String table, long highestSeen, int limit) {
+        return rowDeletionRepository.findAfter(table, Math.max(0, highestSeen - ID_LOOKBACK), PageRequest.of(0, ID_LOOKBACK + limit));
+    }
+
+    // Entries only need to outlive the readers' poll and reconcile intervals
+    @Scheduled(cron = "${app.row-deletions.purge-cron:0 45 * * * *}")
+    @LeaseLocked(name = "row-deletion-purge")
+    public void purgeOldEntries() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        int total = 0;
+        try {
+            while (true) {
+                Integer deleted = transactionTemplate.execute(status -> {
+                    List<Long> ids = rowDeletionRepository.findIdsDeletedBefore(before, PageRequest.of(0, purgeChunkSize));
+                    return ids.isEmpty() ? 0 : rowDeletionRepository.deleteByIdIn(ids);
+                });
+                if (deleted == null || deleted == 0) {
+                    break;
+                }
+                total += deleted;
+            }
+            if (total > 0) {
+                logger.info("Purged {} row deletion log entries", total);
+            }
+        } catch (Exception e) {
+            logger.error("Error occurred while purging the row deletion log", e);
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package com.figma.webapp.service;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.figma.webapp.dto.ActivityDto;
+import com.figma.webapp.dto.ActivityRowDto;
+import com.figma.webapp.dto.TaskChangeDto;
+import com.figma.webapp.entity.RowDeletion;
+import com.figma.webapp.repository.ActivityRepository;
+import com.figma.webapp.util.AfterCommit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fans task create/update/delete deltas out to the /tasks/stream Server-Sent Events subscribers.
+ *
+ * ActivityService publishes after commit. Each subscriber has a bounded buffer drained by a
+ * small sender pool, so a slow client never holds up the writer or the other clients; when a
+ * buffer fills up its pending deltas are dropped and replaced by a single "resync" event,
+ * telling the client to re-fetch its views. Every connection also starts with a resync.
+ *
+ * A client that stops reading blocks its sender thread in the write until the socket times out.
+ * Sends that take longer than app.task-stream.send-timeout-ms close the subscriber, and the pool
+ * gets an extra thread until the blocked write returns, so the other clients keep their senders.
+ *
+ * Writes made on other instances are picked up while anyone is connected, by polling recently
+ * updated rows and the row deletion log, both through indexes.
+ */
+@Component
+public class TaskChangeStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskChangeStream.class);
+
+    private static final String RESYNC = "resync";
+
+    // Same bound as the other set-based reads by id
+    private static final int ID_CHUNK_SIZE = 500;
+
+    // Signatures of recently sent tasks, so the poll does not repeat this instance's own deltas
+    private static final int SENT_SIGNATURES = 10_000;
+
+    // Sent signature of a deleted task
+    private static final int DELETED = Integer.MIN_VALUE;
+
+    private static final Message HEARTBEAT = new Message(null, null);
+
+    // Send start times: no send in progress, and a send the watchdog gave up on
+    private static final long IDLE = 0;
+    private static final long STUCK = Long.MIN_VALUE;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private RowDeletionLog rowDeletionLog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.task-stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${app.task-stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${app.task-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.task-stream.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${app.task-stream.reconnect-ms:3000}")
+    private long reconnectMs;
+
+    @Value("${app.task-stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${app.task-stream.poll-overlap-ms:10000}")
+    private long pollOverlapMs;
+
+    @Value("${app.task-stream.max-poll-rows:1000}")
+    private int maxPollRows;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Map<Long, Integer> sentSignatures = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+            return size() > SENT_SIGNATURES;
+        }
+    };
+
+    // Poll state, only touched by the scheduler thread
+    private LocalDateTime watermark;
+    private long deletionsSeen = -1;
+
+    // Sender threads blocked in a write that timed out; each one has a replacement in the pool
+    private final AtomicInteger stuckSenders = new AtomicInteger();
+
+    private ThreadPoolExecutor sender;
+
+    private Timer fanOutTimer;
+
+    private Counter overflowCounter;
+
+    private Counter sendTimeoutCounter;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        // At most one queued drain per subscriber, so the queue is bounded by the connection count.
+        // The pool grows by one for every stuck sender, see checkSendTimeouts.
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "task-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ExecutorServiceMetrics.monitor(meterRegistry, sender, "taskStream");
+
+        Gauge.builder("tasks.stream.connections", subscribers, Set::size)
+                .description("Open /tasks/stream connections")
+                .register(meterRegistry);
+        fanOutTimer = Timer.builder("tasks.stream.fanout")
+                .description("Time from a committed task change to its write on a subscriber's connection")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        overflowCounter = Counter.builder("tasks.stream.overflows")
+                .description("Subscriber buffers that filled up and were replaced by a resync")
+                .register(meterRegistry);
+        sendTimeoutCounter = Counter.builder("tasks.stream.send.timeouts")
+                .description("Subscribers closed because a write to their connection did not complete in time")
+                .register(meterRegistry);
+        Gauge.builder("tasks.stream.stuck.senders", stuckSenders, AtomicInteger::get)
+                .description("Sender threads still blocked in a write to a closed subscriber")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    public SseEmitter subscribe(String username) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMs), username);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+
+        // Oldest connections beyond the per-user limit are closed, e.g. tabs left open elsewhere
+        List<Subscriber> own = subscribers.stream()
+                .filter(existing -> existing.username.equals(username))
+                .sorted(Comparator.comparingLong(existing -> existing.connectedAt))
+                .toList();
+        for (int i = 0; i <= own.size() - maxConnectionsPerUser; i++) {
+            close(own.get(i));
+        }
+
+        subscribers.add(subscriber);
+        // Whatever the client loaded before connecting may be stale: start with a resync
+        enqueue(subscriber, new Message(RESYNC, Map.of("reason", "connected")));
+        return subscriber.emitter;
+    }
+
+    public void created(ActivityDto task) {
+        AfterCommit.run(() -> {
+            remember(task);
+            publishChange(TaskChangeDto.CREATED, task);
+        });
+    }
+
+    public void updated(ActivityDto task) {
+        AfterCommit.run(() -> {
+            remember(task);
+            publishChange(TaskChangeDto.UPDATED, task);
+        });
+    }
+
+    public void deleted(Long id) {
+        AfterCommit.run(() -> {
+            if (rememberDeleted(id)) {
+                publishDeleted(id);
+            }
+        });
+    }
+
+    // For set-based updates: the rows are re-read after commit, and only when someone is listening
+    public void updatedAfterCommit(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            if (subscribers.isEmpty()) {
+                return;
+            }
+            List<Long> idList = new ArrayList<>(ids);
+            for (int from = 0; from < idList.size(); from += ID_CHUNK_SIZE) {
+                List<Long> chunk = idList.subList(from, Math.min(from + ID_CHUNK_SIZE, idList.size()));
+                for (ActivityRowDto row : activityRepository.findRowsByIdIn(chunk, ActivityService.FULL_DESCRIPTION)) {
+                    ActivityDto task = ActivityService.rowToDto(row, ActivityService.FULL_DESCRIPTION);
+                    remember(task);
+                    publishChange(TaskChangeDto.UPDATED, task);
+                }
+            }
+        });
+    }
+
+    // For changes too broad to describe as deltas, such as a username change
+    public void resyncAfterCommit(String reason) {
+        AfterCommit.run(() -> resync(reason));
+    }
+
+    @Scheduled(fixedDelayString = "${app.task-stream.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        // Keeps proxies from closing idle connections and finds clients that went away
+        subscribers.forEach(subscriber -> enqueue(subscriber, HEARTBEAT));
+    }
+
+    /**
+     * Closes subscribers whose current write has been blocked longer than the send timeout and
+     * adds a sender thread in place of each blocked one; it is removed when the write returns.
+     */
+    @Scheduled(fixedDelayString = "${app.task-stream.send-timeout-ms:10000}")
+    public void checkSendTimeouts() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long startedAt = subscriber.sendStartedAt.get();
+            if (startedAt == IDLE || startedAt == STUCK
+                    || now - startedAt < TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs)) {
+                continue;
+            }
+            // Loses to a send that finished in the meantime
+            if (subscriber.sendStartedAt.compareAndSet(startedAt, STUCK)) {
+                stuckSenders.incrementAndGet();
+                resizeSender(1);
+                sendTimeoutCounter.increment();
+                logger.debug("Closing the task stream of {}: a write has been blocked for over {} ms", subscriber.username, sendTimeoutMs);
+                close(subscriber, new SocketTimeoutException("Task stream write timed out"));
+            }
+        }
+    }
+
+    /**
+     * Turns rows updated since the previous poll into deltas, and new entries of the row
+     * deletion log into "deleted" deltas, skipping those this instance already sent.
+     */
+    @Scheduled(fixedDelayString = "${app.task-stream.poll-interval-ms:5000}")
+    public void pollDatabase() {
+        if (subscribers.isEmpty()) {
+            // New subscribers start with a resync, so there is nothing to catch up on
+            deletionsSeen = -1;
+            return;
+        }
+        LocalDateTime latest = activityRepository.findLatestUpdate();
+        if (deletionsSeen < 0) {
+            deletionsSeen = rowDeletionLog.latestId(RowDeletionLog.ACTIVITIES);
+            watermark = latest;
+            return;
+        }
+
+        if (latest != null) {
+            // The overlap catches transactions that committed after a newer row was already seen
+            LocalDateTime since = watermark != null ? watermark.minus(Duration.ofMillis(pollOverlapMs)) : LocalDateTime.of(1970, 1, 1, 0, 0);
+            List<ActivityRowDto> rows = activityRepository.findRowsUpdatedAfter(since, ActivityService.FULL_DESCRIPTION,
+                    PageRequest.of(0, maxPollRows + 1));
+            if (rows.size() > maxPollRows) {
+                resync("external-bulk-change");
+                deletionsSeen = rowDeletionLog.latestId(RowDeletionLog.ACTIVITIES);
+                watermark = latest;
+                return;
+            }
+            for (ActivityRowDto row : rows) {
+                ActivityDto task = ActivityService.rowToDto(row, ActivityService.FULL_DESCRIPTION);
+                if (remember(task)) {
+                    publishChange(TaskChangeDto.UPDATED, task);
+                }
+            }
+            watermark = latest;
+        }
+
+        List<RowDeletion> deletions = rowDeletionLog.readFrom(RowDeletionLog.ACTIVITIES, deletionsSeen, maxPollRows + 1);
+        if (deletions.stream().filter(deletion -> deletion.getId() > deletionsSeen).count() > maxPollRows) {
+            resync("external-bulk-delete");
+            deletionsSeen = rowDeletionLog.latestId(RowDeletionLog.ACTIVITIES);
+            return;
+        }
+        for (RowDeletion deletion : deletions) {
+            deletionsSeen = Math.max(deletionsSeen, deletion.getId());
+            if (rememberDeleted(deletion.getEntityId())) {
+                publishDeleted(deletion.getEntityId());
+            }
+        }
+    }
+
+    private void resync(String reason) {
+        if (!subscribers.isEmpty()) {
+            logger.debug("Asking {} task stream subscribers to resync: {}", subscribers.size(), reason);
+            publish(new Message(RESYNC, Map.of("reason", reason)));
+        }
+    }
+
+    // Records what the task now looks like; false if it was already sent in this state
+    private boolean remember(ActivityDto task) {
+        int signature = Objects.hash(task.getAssignedUser(), task.getAssignedBy(), task.getDate(),
+                task.getDescription(), task.getStatus(), task.getPriority());
+        synchronized (sentSignatures) {
+            Integer previous = sentSignatures.put(task.getId(), signature);
+            return previous == null || previous != signature;
+        }
+    }
+
+    // False if the deletion was already sent, e.g. by this instance's own delete
+    private boolean rememberDeleted(Long id) {
+        synchronized (sentSignatures) {
+            Integer previous = sentSignatures.put(id, DELETED);
+            return previous == null || previous != DELETED;
+        }
+    }
+
+    private void publishDeleted(Long id) {
+        publish(new Message(TaskChangeDto.DELETED, new TaskChangeDto(TaskChangeDto.DELETED, id, null)));
+    }
+
+    private void publishChange(String type, ActivityDto task) {
+        publish(new Message(type, new TaskChangeDto(type, task.getId(), task)));
+    }
+
+    private void publish(Message message) {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, message);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Message message) {
+        synchronized (subscriber) {
+            if (subscriber.buffer.size() >= bufferSize) {
+                // Too far behind to catch up delta by delta: drop everything and have it re-fetch
+                subscriber.buffer.clear();
+                subscriber.buffer.add(new Message(RESYNC, Map.of("reason", "overflow")));
+                overflowCounter.increment();
+            }
+            subscriber.buffer.add(message);
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Message message;
+            while ((message = subscriber.poll()) != null) {
+                send(subscriber, message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or the emitter already completed
+            close(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A message may have arrived between the last poll and clearing the flag
+        if (subscriber.hasPending()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Message message) throws IOException {
+        SseEmitter.SseEventBuilder event;
+        if (message == HEARTBEAT) {
+            event = SseEmitter.event().comment("keepalive");
+        } else {
+            event = SseEmitter.event().name(message.name).data(message.data, MediaType.APPLICATION_JSON);
+            if (RESYNC.equals(message.name)) {
+                event.reconnectTime(reconnectMs);
+            }
+        }
+        subscriber.sendStartedAt.set(System.nanoTime());
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            if (subscriber.sendStartedAt.getAndSet(IDLE) == STUCK) {
+                // The watchdog already closed the subscriber; hand back the replacement thread
+                stuckSenders.decrementAndGet();
+                resizeSender(-1);
+            }
+        }
+        if (message.data instanceof TaskChangeDto) {
+            fanOutTimer.record(System.nanoTime() - message.publishedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private synchronized void resizeSender(int delta) {
+        int size = sender.getCorePoolSize() + delta;
+        // The maximum may never drop below the core size
+        if (delta > 0) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        close(subscriber, null);
+    }
+
+    private void close(Subscriber subscriber, Throwable error) {
+        subscribers.remove(subscriber);
+        synchronized (subscriber) {
+            subscriber.buffer.clear();
+        }
+        try {
+            if (error != null) {
+                subscriber.emitter.completeWithError(error);
+            } else {
+                subscriber.emitter.complete();
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Task stream connection was already closed", e);
+        }
+    }
+
+    private static final class Message {
+        private final String name;
+        private final Object data;
+        private final long publishedAt = System.nanoTime();
+
+        private Message(String name, Object data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final String username;
+        private final long connectedAt = System.nanoTime();
+        private final ArrayDeque<Message> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // System.nanoTime() when the current write started, IDLE or STUCK
+        private final AtomicLong sendStartedAt = new AtomicLong(IDLE);
+
+        private Subscriber(SseEmitter emitter, String username) {
+            this.emitter = emitter;
+            this.username = username;
+        }
+
+        private synchronized Message poll() {
+            return buffer.poll();
+        }
+
+        private synchronized boolean hasPending() {
+            return !buffer.isEmpty();
+        }
+    }
+}
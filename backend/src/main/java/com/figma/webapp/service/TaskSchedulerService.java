@@ -1,19 +1,27 @@
 package com.figma.webapp.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.figma.webapp.entity.Activity;
 import com.figma.webapp.entity.Activity.ActivityStatus;
 import com.figma.webapp.repository.ActivityRepository;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
 @Service
 public class TaskSchedulerService {
 
@@ -22,6 +30,50 @@ public class TaskSchedulerService {
     @Autowired
     private ActivityRepository activityRepository;
 
+    @Autowired
+    private ActivityDateIndex activityDateIndex;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private TaskChangeStream taskChangeStream;
+
+    @Autowired
+    private EntityCacheSync entityCacheSync;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.overdue-tasks.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.overdue-tasks.dry-run:false}")
+    private boolean dryRun;
+
+    private Timer runTimer;
+
+    private Counter completedCounter;
+
+    @PostConstruct
+    void init() {
+        runTimer = Timer.builder("tasks.overdue.run")
+                .description("Time taken by the overdue task job")
+                .register(meterRegistry);
+        completedCounter = Counter.builder("tasks.overdue.completed")
+                .description("Overdue tasks marked as complete by the overdue task job")
+                .register(meterRegistry);
+    }
+
     /**
      * Scheduled task that runs every day at midnight and marks all overdue tasks as COMPLETE.
      * 
@@ -30,6 +82,12 @@ public class TaskSchedulerService {
      * from lingering in an incomplete state indefinitely, which may be important for reporting, notifications, or
      * business process automation.
      * 
+     * Tasks are updated in chunks of {@code chunkSize}, each with a single UPDATE in its own short
+     * transaction, so a large backlog never loads every row into memory or holds locks for long.
+     * Only one instance runs the job at a time (see LeaseLocked); each chunk re-checks the lease
+     * before committing and the run stops if another instance has taken it over.
+     * With app.overdue-tasks.dry-run set, the job only logs how many tasks it would update.
+     * 
      * Cron expression: "0 0 0 * * *" means:
      * - 0 seconds
      * - 0 minutes  
@@ -39,32 +97,70 @@ public class TaskSchedulerService {
      * - every day of week
      */
     @Scheduled(cron = "0 0 0 * * *")
-    @Transactional
+    @LeaseLocked(name = "overdue-tasks", leaseSeconds = 600)
     public void markOverdueTasksAsComplete() {
+        try {
+            markOverdueTasksAsComplete(dryRun);
+        } catch (Exception e) {
+            logger.error("Error occurred while marking overdue tasks as complete", e);
+        }
+    }
+
+    /**
+     * Marks overdue tasks as complete, or with dryRun only counts them.
+     *
+     * @return number of tasks updated, or that would be updated in a dry run
+     */
+    public long markOverdueTasksAsComplete(boolean dryRun) {
         LocalDate today = LocalDate.now();
-        
+
+        if (dryRun) {
+            long overdue = activityRepository.countOverdueTasks(today, ActivityStatus.COMPLETED);
+            logger.info("Dry run: {} overdue tasks would be marked as complete", overdue);
+            return overdue;
+        }
+
+        JobLeaseService.Lease lease = jobLeaseService.currentLease();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long total = 0;
+        long lastId = 0;
+        int chunks = 0;
+        long elapsedNanos;
         try {
-            // Find all tasks with due date before today that are not already COMPLETED
-            List<Activity> overdueTasks = activityRepository.findOverdueTasks(today, ActivityStatus.COMPLETED);
-            
-            if (!overdueTasks.isEmpty()) {
-                logger.info("Found {} overdue tasks to mark as complete", overdueTasks.size());
-                
-                // Update each overdue task to COMPLETED status
-                for (Activity task : overdueTasks) {
-                    task.setStatus(ActivityStatus.COMPLETED);
-                    activityRepository.save(task);
-                    logger.debug("Marked task {} as complete (was due on {})", task.getId(), task.getDate());
+            while (true) {
+                List<Long> ids = activityRepository.findOverdueTaskIds(today, ActivityStatus.COMPLETED, lastId, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    break;
                 }
-                
-                logger.info("Successfully marked {} overdue tasks as complete", overdueTasks.size());
-            } else {
-                logger.info("No overdue tasks found to mark as complete");
+                lastId = ids.get(ids.size() - 1);
+
+                Integer updated = transactionTemplate.execute(status -> {
+                    jobLeaseService.checkFence(lease);
+                    LocalDateTime now = LocalDateTime.now();
+                    int count = activityRepository.markOverdueTasksCompleted(ids, today, ActivityStatus.COMPLETED, now);
+                    activityDateIndex.refreshAfterCommit(ids, now);
+                    taskSearchIndex.refreshAfterCommit(ids);
+                    taskChangeStream.updatedAfterCommit(ids);
+                    entityCacheSync.evictAllAfterCommit(Activity.class);
+                    resourceVersions.tasksChanged();
+                    return count;
+                });
+                int count = updated != null ? updated : 0;
+                total += count;
+                chunks++;
+                completedCounter.increment(count);
+                logger.debug("Marked {} overdue tasks as complete in chunk {} ({} so far, up to id {})", count, chunks, total, lastId);
             }
-            
-        } catch (Exception e) {
-            logger.error("Error occurred while marking overdue tasks as complete", e);
+        } finally {
+            elapsedNanos = sample.stop(runTimer);
+        }
+
+        if (total > 0) {
+            logger.info("Marked {} overdue tasks as complete in {} chunks ({} ms)", total, chunks, elapsedNanos / 1_000_000);
+        } else {
+            logger.info("No overdue tasks found to mark as complete");
         }
+        return total;
     }
     
     /**
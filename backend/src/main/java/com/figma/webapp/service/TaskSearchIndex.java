@@ -0,0 +1,485 @@
+package com.figma.webapp.service;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.figma.webapp.dto.TaskSearchRowDto;
+import com.figma.webapp.entity.Activity;
+import com.figma.webapp.entity.Activity.ActivityStatus;
+import com.figma.webapp.entity.RowDeletion;
+import com.figma.webapp.repository.ActivityRepository;
+import com.figma.webapp.util.AfterCommit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-process inverted index over task titles and descriptions, behind /tasks/search.
+ *
+ * Text is folded to lower case without accents and split into letter/digit terms. Each term
+ * maps to the tasks containing it and how often, with title terms counted double. Queries
+ * match every term (a trailing * makes a term a prefix) and are ranked with BM25, so a query
+ * touches only the postings of its own terms however many tasks there are.
+ *
+ * The index is rebuilt from the database in id-ordered batches once the application is
+ * ready, then kept current by ActivityService's write paths after each commit. Like
+ * ActivityDateIndex, a periodic check rebuilds it when the latest update time or highest id
+ * in the database has moved past it, and drops the tasks other instances deleted as listed
+ * in the row deletion log.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    // BM25 term-frequency saturation and length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int TITLE_WEIGHT = 2;
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 64;
+
+    // Bounds the work a short prefix such as "a*" can cause
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    // Prefix matches rank below an exact match of the same term
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    // More deletions than this since the last check are repaired with a rebuild
+    private static final int MAX_DELETIONS = 1000;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private RowDeletionLog rowDeletionLog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.task-search.enabled:true}")
+    private boolean enabled;
+
+    private volatile Snapshot snapshot;
+
+    private Counter reloadCounter;
+
+    private Timer queryTimer;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        reloadCounter = Counter.builder("tasks.search.reloads")
+                .description("Full rebuilds of the task search index, including drift repairs")
+                .register(meterRegistry);
+        queryTimer = Timer.builder("tasks.search.query")
+                .description("Time spent answering task search queries from the index")
+                .register(meterRegistry);
+        Gauge.builder("tasks.search.size", this, index -> index.snapshot != null ? index.snapshot.docs.size() : 0)
+                .description("Tasks held in the task search index")
+                .register(meterRegistry);
+        Gauge.builder("tasks.search.terms", this, index -> index.snapshot != null ? index.snapshot.postings.size() : 0)
+                .description("Distinct terms in the task search index")
+                .register(meterRegistry);
+    }
+
+    // True once the index is built; search is unavailable until then
+    public boolean isReady() {
+        return enabled && snapshot != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // The next reconciliation run retries
+            logger.error("Failed to build the task search index", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.task-search.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.task-search.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        Snapshot current = snapshot;
+        if (current == null) {
+            reload();
+            return;
+        }
+        LocalDateTime latest = activityRepository.findLatestUpdate();
+        Long maxId = activityRepository.findMaxId();
+        boolean newerInDb = latest != null
+                && (current.latestUpdate == null || latest.truncatedTo(ChronoUnit.MICROS).isAfter(current.latestUpdate.truncatedTo(ChronoUnit.MICROS)));
+        if (newerInDb || (maxId != null && maxId > current.maxId)) {
+            logger.info("Task search index drifted from the database (latest update {}, highest id {}), rebuilding", latest, maxId);
+            reload();
+            return;
+        }
+        List<RowDeletion> deletions = rowDeletionLog.readFrom(RowDeletionLog.ACTIVITIES, current.deletionsSeen, MAX_DELETIONS + 1);
+        if (deletions.stream().filter(deletion -> deletion.getId() > current.deletionsSeen).count() > MAX_DELETIONS) {
+            logger.info("Over {} tasks were deleted since the last check, rebuilding the task search index", MAX_DELETIONS);
+            reload();
+            return;
+        }
+        apply(index -> deletions.forEach(deletion -> {
+            index.remove(deletion.getEntityId());
+            index.deletionsSeen = Math.max(index.deletionsSeen, deletion.getId());
+        }));
+    }
+
+    public synchronized void reload() {
+        long started = System.nanoTime();
+        Snapshot fresh = new Snapshot();
+        // Read first, so deletes that commit during the load are applied by the next check
+        fresh.deletionsSeen = rowDeletionLog.latestId(RowDeletionLog.ACTIVITIES);
+        fresh.latestUpdate = activityRepository.findLatestUpdate();
+        long lastId = 0;
+        while (true) {
+            List<TaskSearchRowDto> rows = activityRepository.findSearchRowsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            rows.forEach(fresh::add);
+            lastId = rows.get(rows.size() - 1).getId();
+        }
+        snapshot = fresh;
+        reloadCounter.increment();
+        logger.info("Indexed {} tasks ({} terms) for search in {} ms", fresh.docs.size(), fresh.postings.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // For bulk statements that change many rows at once, e.g. a username change
+    public void reloadAfterCommit() {
+        if (enabled) {
+            AfterCommit.run(this::reload);
+        }
+    }
+
+    // Re-reads the given rows once the surrounding transaction commits, for set-based updates
+    public void refreshAfterCommit(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            List<TaskSearchRowDto> rows = activityRepository.findSearchRowsByIdIn(ids);
+            apply(current -> rows.forEach(row -> {
+                current.remove(row.getId());
+                current.add(row);
+            }));
+        });
+    }
+
+    public void put(Activity activity) {
+        if (!enabled) {
+            return;
+        }
+        // Read the entity after commit, once auditing has stamped updatedAt on flush
+        AfterCommit.run(() -> apply(current -> {
+            TaskSearchRowDto row = new TaskSearchRowDto(activity.getId(), activity.getAssignedUserName(), activity.getTitle(),
+                    activity.getDescription(), activity.getDate(), activity.getStatus(), activity.getUpdatedAt());
+            current.remove(row.getId());
+            current.add(row);
+        }));
+    }
+
+    public void remove(Long id) {
+        if (enabled) {
+            AfterCommit.run(() -> apply(current -> current.remove(id)));
+        }
+    }
+
+    /**
+     * Finds tasks matching every term of the query, best first. Null filters match anything.
+     *
+     * @return the total number of matches and the requested slice of them
+     */
+    public SearchResult search(String query, String assignedUser, ActivityStatus status,
+                               LocalDate fromDate, LocalDate toDate, int offset, int limit) {
+        Snapshot current = snapshot;
+        List<Clause> clauses = parse(query, current);
+        if (clauses.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+        return queryTimer.record(() -> {
+            // Walk the rarest clause and probe the others, so cost follows the most selective term
+            clauses.sort(Comparator.comparingLong(Clause::estimatedSize));
+            double averageLength = current.docs.isEmpty() ? 1 : (double) current.totalLength.get() / current.docs.size();
+            int wanted = offset + limit;
+            PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::getScore).thenComparing(Hit::getId));
+            long total = 0;
+
+            for (Long id : clauses.get(0).candidates()) {
+                Doc doc = current.docs.get(id);
+                if (doc == null || !doc.matches(assignedUser, status, fromDate, toDate)) {
+                    continue;
+                }
+                double score = 0;
+                for (Clause clause : clauses) {
+                    double clauseScore = clause.score(id, doc, current.docs.size(), averageLength);
+                    if (clauseScore == 0) {
+                        score = 0;
+                        break;
+                    }
+                    score += clauseScore;
+                }
+                if (score == 0) {
+                    continue;
+                }
+                total++;
+                top.add(new Hit(id, score));
+                if (top.size() > wanted) {
+                    top.poll();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(Comparator.comparingDouble(Hit::getScore).reversed().thenComparing(Hit::getId, Comparator.reverseOrder()));
+            return new SearchResult(total, offset < hits.size() ? hits.subList(offset, hits.size()) : List.of());
+        });
+    }
+
+    // Lower-cased, accent-free letter/digit runs; the same rules apply to documents and queries
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        for (String term : NON_WORD.split(folded)) {
+            if (term.length() >= MIN_TERM_LENGTH) {
+                terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+            }
+        }
+        return terms;
+    }
+
+    // Each whitespace-separated word is one clause; "word*" also matches longer terms
+    private static List<Clause> parse(String query, Snapshot current) {
+        List<Clause> clauses = new ArrayList<>();
+        if (query == null) {
+            return clauses;
+        }
+        for (String word : query.trim().split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            List<String> terms = tokenize(prefix ? word.substring(0, word.length() - 1) : word);
+            for (int i = 0; i < terms.size(); i++) {
+                clauses.add(new Clause(current, terms.get(i), prefix && i == terms.size() - 1));
+            }
+        }
+        return clauses;
+    }
+
+    private synchronized void apply(Consumer<Snapshot> change) {
+        Snapshot current = snapshot;
+        if (current != null) {
+            change.accept(current);
+        }
+    }
+
+    public static final class SearchResult {
+        private final long total;
+        private final List<Hit> hits;
+
+        private SearchResult(long total, List<Hit> hits) {
+            this.total = total;
+            this.hits = hits;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+    }
+
+    public static final class Hit {
+        private final Long id;
+        private final double score;
+
+        private Hit(Long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    // One query term and the index terms it matches: itself, plus longer terms for a prefix
+    private static final class Clause {
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private final String term;
+
+        private Clause(Snapshot current, String term, boolean prefix) {
+            this.term = term;
+            if (prefix) {
+                for (Map.Entry<String, Map<Long, Integer>> entry : current.postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                    postings.put(entry.getKey(), entry.getValue());
+                    if (postings.size() >= MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                }
+            } else {
+                Map<Long, Integer> exact = current.postings.get(term);
+                if (exact != null) {
+                    postings.put(term, exact);
+                }
+            }
+        }
+
+        private long estimatedSize() {
+            return postings.values().stream().mapToLong(Map::size).sum();
+        }
+
+        private Collection<Long> candidates() {
+            if (postings.size() == 1) {
+                return postings.values().iterator().next().keySet();
+            }
+            List<Long> ids = new ArrayList<>();
+            postings.values().forEach(docs -> ids.addAll(docs.keySet()));
+            return ids.stream().distinct().toList();
+        }
+
+        // Best-scoring matching term for this document, or 0 if none matches
+        private double score(Long id, Doc doc, int documentCount, double averageLength) {
+            double best = 0;
+            for (Map.Entry<String, Map<Long, Integer>> entry : postings.entrySet()) {
+                Integer frequency = entry.getValue().get(id);
+                if (frequency == null) {
+                    continue;
+                }
+                int documentFrequency = entry.getValue().size();
+                double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                double tf = frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * doc.length / averageLength));
+                double score = idf * tf * (entry.getKey().equals(term) ? 1 : PREFIX_MATCH_WEIGHT);
+                best = Math.max(best, score);
+            }
+            return best;
+        }
+    }
+
+    // What the index keeps per task: its filterable fields and the terms to unlink on removal
+    private static final class Doc {
+        private final String assignedUser;
+        private final LocalDate date;
+        private final ActivityStatus status;
+        private final int length;
+        private final String[] terms;
+
+        private Doc(String assignedUser, LocalDate date, ActivityStatus status, int length, String[] terms) {
+            this.assignedUser = assignedUser;
+            this.date = date;
+            this.status = status;
+            this.length = length;
+            this.terms = terms;
+        }
+
+        private boolean matches(String user, ActivityStatus wantedStatus, LocalDate fromDate, LocalDate toDate) {
+            return (user == null || user.equals(assignedUser))
+                    && (wantedStatus == null || wantedStatus == status)
+                    && (fromDate == null || (date != null && !date.isBefore(fromDate)))
+                    && (toDate == null || (date != null && !date.isAfter(toDate)));
+        }
+    }
+
+    private static final class Snapshot {
+        private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+        private final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+        private final AtomicLong totalLength = new AtomicLong();
+        private volatile LocalDateTime latestUpdate;
+        // Highest task id added and highest row deletion log entry applied
+        private volatile long maxId;
+        private volatile long deletionsSeen;
+
+        private void add(TaskSearchRowDto row) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String term : tokenize(row.getTitle())) {
+                frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+            }
+            for (String term : tokenize(row.getDescription())) {
+                frequencies.merge(term, 1, Integer::sum);
+            }
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+            // Postings first, so a reader that finds the doc also finds its terms
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(row.getId(), frequency));
+            docs.put(row.getId(), new Doc(row.getAssignedUser(), row.getDate(), row.getStatus(), length,
+                    frequencies.keySet().toArray(String[]::new)));
+            totalLength.addAndGet(length);
+            maxId = Math.max(maxId, row.getId());
+
+            LocalDateTime updatedAt = row.getUpdatedAt();
+            if (updatedAt != null && (latestUpdate == null || updatedAt.isAfter(latestUpdate))) {
+                latestUpdate = updatedAt;
+            }
+        }
+
+        private void remove(Long id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            totalLength.addAndGet(-doc.length);
+            for (String term : doc.terms) {
+                Map<Long, Integer> docIds = postings.get(term);
+                if (docIds != null) {
+                    docIds.remove(id);
+                    if (docIds.isEmpty()) {
+                        postings.remove(term, docIds);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.figma.webapp.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.figma.webapp.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Optional in-process cache of {@link User} rows keyed by username, email and id.
+ *
+ * Disabled by default (app.user-cache.enabled). When disabled every lookup goes
+ * straight to the supplied loader. Writers must call {@link #invalidate(User)}
+ * before changing a user's username or email and again after saving it.
+ *
+ * The cache keeps its own copy of each user and every hit returns a fresh copy, so callers may
+ * modify what they get without other requests seeing a half-applied change.
+ */
+@Component
+public class UserCache {
+
+    private static final String USERNAME_KEY = "u:";
+    private static final String EMAIL_KEY = "e:";
+    private static final String ID_KEY = "i:";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.user-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.user-cache.max-size:2000}")
+    private long maxSize;
+
+    @Value("${app.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, User> cache;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        // Each user occupies up to three keys, so size the cache accordingly
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize * 3)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<User> byUsername(String username, Supplier<Optional<User>> loader) {
+        return lookup(USERNAME_KEY + username, loader);
+    }
+
+    public Optional<User> byEmail(String email, Supplier<Optional<User>> loader) {
+        return lookup(EMAIL_KEY + email, loader);
+    }
+
+    public Optional<User> byId(Long id, Supplier<Optional<User>> loader) {
+        return lookup(ID_KEY + id, loader);
+    }
+
+    public Optional<User> byUsernameOrEmail(String username, String email, Supplier<Optional<User>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        User cached = cache.getIfPresent(USERNAME_KEY + username);
+        if (cached == null) {
+            cached = cache.asMap().get(EMAIL_KEY + email);
+        }
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        Optional<User> loaded = loader.get();
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    public void invalidate(User user) {
+        if (!enabled || user == null) {
+            return;
+        }
+        cache.invalidate(USERNAME_KEY + user.getUsername());
+        cache.invalidate(EMAIL_KEY + user.getEmail());
+        cache.invalidate(ID_KEY + user.getId());
+    }
+
+    private Optional<User> lookup(String key, Supplier<Optional<User>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        User cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        Optional<User> loaded = loader.get();
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    private void put(User user) {
+        User snapshot = copyOf(user);
+        cache.put(USERNAME_KEY + snapshot.getUsername(), snapshot);
+        cache.put(EMAIL_KEY + snapshot.getEmail(), snapshot);
+        cache.put(ID_KEY + snapshot.getId(), snapshot);
+    }
+
+    // Column values only; the task collections are lazy and never loaded on a cached user
+    private static User copyOf(User user) {
+        User copy = new User(user.getUsername(), user.getEmail(), user.getPasswordHash());
+        copy.setId(user.getId());
+        copy.setAvatar(user.getAvatar());
+        copy.setProjects(user.getProjects());
+        copy.setTasks(user.getTasks());
+        copy.setCompleted(user.getCompleted());
+        copy.setRole(user.getRole());
+        copy.setTokenVersion(user.getTokenVersion());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+}
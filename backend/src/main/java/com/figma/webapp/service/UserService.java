@@ -1,17 +1,20 @@
 package com.figma.webapp.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,10 +25,15 @@ import com.figma.webapp.entity.User;
 import com.figma.webapp.exception.UserAlreadyExistsException;
 import com.figma.webapp.repository.PasswordResetTokenRepository;
 import com.figma.webapp.repository.UserRepository;
+import com.figma.webapp.security.TokenVersionRegistry;
+import com.figma.webapp.util.AfterCommit;
+import com.figma.webapp.util.SecureTokens;
 
 @Service
 public class UserService implements UserDetailsService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
     @Autowired
     private UserRepository userRepository;
 
@@ -39,11 +47,20 @@ public class UserService implements UserDetailsService {
     private EmailService emailService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsernameOrEmail(username, username)
+        User user = findByUsernameOrEmail(username, username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
         return org.springframework.security.core.userdetails.User.builder()
@@ -67,29 +84,55 @@ public class UserService implements UserDetailsService {
         User user = new User();
         user.setUsername(registrationDto.getUsername());
         user.setEmail(registrationDto.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(registrationDto.getPassword()));
+        user.setPasswordHash(passwordHashingService.encode(registrationDto.getPassword()));
         user.setAvatar("👤");
 
         User savedUser = userRepository.save(user);
+        resourceVersions.changed(ResourceVersions.USERS);
         return convertToResponseDto(savedUser);
     }
 
     public User findByUsername(String username) {
-        return userRepository.findByUsername(username).orElse(null);
+        return userCache.byUsername(username, () -> userRepository.loadByUsername(username)).orElse(null);
+    }
+
+    public Optional<User> findById(Long id) {
+        return userCache.byId(id, () -> userRepository.findById(id));
     }
 
     public Optional<User> findByUsernameOrEmail(String username, String email) {
-        return userRepository.findByUsernameOrEmail(username, email);
+        return userCache.byUsernameOrEmail(username, email, () -> {
+            // Usernames resolve through the natural-id cache; only an email needs the query
+            Optional<User> byUsername = userRepository.loadByUsername(username);
+            return byUsername.isPresent() ? byUsername : userRepository.findByUsernameOrEmail(username, email);
+        });
     }
 
+    /**
+     * Drops any cached copy of the user. Call before changing the username or
+     * email and again after saving, so neither the old nor the new keys go stale.
+     */
+    public void evictCachedUser(User user) {
+        userCache.invalidate(user);
+    }
+
+    // Resolves many usernames with a single IN query, bypassing the per-user cache
+    public Map<String, User> findByUsernames(Collection<String> usernames) {
+        return userRepository.findByUsernameIn(usernames).stream()
+                .collect(Collectors.toMap(User::getUsername, Function.identity()));
+    }
+
+    @Transactional(readOnly = true)
     public List<User> findAllStaffUsers() {
         return userRepository.findByRoleNot(User.UserRole.MANAGER);
     }
 
+    @Transactional(readOnly = true)
     public List<User> findAllUsers() {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<UserResponseDto> getAllUsers() {
         return userRepository.findAll().stream()
                 .map(this::convertToResponseDto)
@@ -97,7 +140,7 @@ public class UserService implements UserDetailsService {
     }
 
     public Optional<UserResponseDto> getUserById(Long id) {
-        return userRepository.findById(id)
+        return userCache.byId(id, () -> userRepository.findById(id))
                 .map(this::convertToResponseDto);
     }
 
@@ -108,7 +151,7 @@ public class UserService implements UserDetailsService {
         try {
             User.UserRole newRole = User.UserRole.valueOf(roleString);
             user.setRole(newRole);
-            User savedUser = userRepository.save(user);
+            User savedUser = saveAndRevokeTokens(user);
             return convertToResponseDto(savedUser);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid role: " + roleString);
@@ -116,7 +159,29 @@ public class UserService implements UserDetailsService {
     }
 
     public boolean validatePassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return passwordHashingService.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * Re-hashes the stored password with the configured BCrypt cost after a successful
+     * login, if it was hashed with a lower one. Does not revoke issued tokens.
+     */
+    public void upgradePasswordHashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            User managedUser = userRepository.findById(user.getId()).orElse(null);
+            if (managedUser == null) {
+                return;
+            }
+            managedUser.setPasswordHash(passwordHashingService.encode(rawPassword));
+            userRepository.save(managedUser);
+            userCache.invalidate(managedUser);
+        } catch (Exception e) {
+            // The login already succeeded; the hash will be upgraded on a later login
+            logger.warn("Could not upgrade password hash for user {}: {}", user.getUsername(), e.getMessage());
+        }
     }
 
     public boolean checkUserExists(String emailOrUsername) {
@@ -152,9 +217,9 @@ public class UserService implements UserDetailsService {
             
             if (user != null) {
                 // Encode the new password and update
-                String encodedPassword = passwordEncoder.encode(newPassword);
+                String encodedPassword = passwordHashingService.encode(newPassword);
                 user.setPasswordHash(encodedPassword);
-                userRepository.save(user);
+                saveAndRevokeTokens(user);
                 return true;
             }
             
@@ -169,14 +234,15 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findByUsernameOrEmail(emailOrUsername, emailOrUsername)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // Invalidate any existing tokens for this user
-        passwordResetTokenRepository.markAllUserTokensAsUsed(user);
+        // Invalidate any still-redeemable tokens for this user
+        LocalDateTime now = LocalDateTime.now();
+        passwordResetTokenRepository.markLiveUserTokensAsUsed(user, now);
 
-        // Generate new token
-        String token = UUID.randomUUID().toString();
-        LocalDateTime expiryDate = LocalDateTime.now().plusMinutes(resetTokenExpiryMinutes);
+        // Generate new token; only its digest is stored
+        String token = SecureTokens.newToken();
+        LocalDateTime expiryDate = now.plusMinutes(resetTokenExpiryMinutes);
 
-        PasswordResetToken resetToken = new PasswordResetToken(token, user, expiryDate);
+        PasswordResetToken resetToken = new PasswordResetToken(SecureTokens.sha256Hex(token), user, expiryDate);
         passwordResetTokenRepository.save(resetToken);
 
         // Send email
@@ -185,7 +251,7 @@ public class UserService implements UserDetailsService {
 
     @Transactional
     public boolean resetPasswordWithToken(String token, String newPassword) {
-        Optional<PasswordResetToken> tokenOpt = passwordResetTokenRepository.findByTokenAndUsedFalse(token);
+        Optional<PasswordResetToken> tokenOpt = passwordResetTokenRepository.findByTokenAndUsedFalse(SecureTokens.sha256Hex(token));
         
         if (tokenOpt.isEmpty()) {
             return false; // Token not found or already used
@@ -199,8 +265,8 @@ public class UserService implements UserDetailsService {
 
         // Update password
         User user = resetToken.getUser();
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        user.setPasswordHash(passwordHashingService.encode(newPassword));
+        saveAndRevokeTokens(user);
 
         // Mark token as used
         resetToken.setUsed(true);
@@ -210,10 +276,23 @@ public class UserService implements UserDetailsService {
     }
 
     public boolean isValidResetToken(String token) {
-        Optional<PasswordResetToken> tokenOpt = passwordResetTokenRepository.findByTokenAndUsedFalse(token);
+        Optional<PasswordResetToken> tokenOpt = passwordResetTokenRepository.findByTokenAndUsedFalse(SecureTokens.sha256Hex(token));
         return tokenOpt.isPresent() && !tokenOpt.get().isExpired();
     }
 
+    /**
+     * Saves the user and bumps its token version, so every JWT issued before this save is
+     * rejected. Use for any change that must end existing sessions: password, role or username.
+     */
+    public User saveAndRevokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        User savedUser = userRepository.save(user);
+        userCache.invalidate(savedUser);
+        // A rolled-back save must not leave this instance rejecting the still-current version
+        AfterCommit.run(() -> tokenVersionRegistry.update(savedUser.getId(), savedUser.getTokenVersion()));
+        return savedUser;
+    }
+
     private UserResponseDto convertToResponseDto(User user) {
         return new UserResponseDto(
                 user.getId(),
@@ -0,0 +1,41 @@
+package com.figma.webapp.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.figma.webapp.dto.ActivityRowDto;
+
+/**
+ * Opaque keyset cursor over the task sort keys (date, createdAt, id).
+ * Clients treat the encoded value as an unparsed token and pass it back unchanged.
+ */
+public record TaskCursor(LocalDate date, LocalDateTime createdAt, Long id) {
+
+    public static TaskCursor of(ActivityRowDto row) {
+        return new TaskCursor(row.getDate(), row.getCreatedAt(), row.getId());
+    }
+
+    public String encode() {
+        String raw = date + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null for a blank cursor (first page).
+     * Throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static TaskCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            return new TaskCursor(LocalDate.parse(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
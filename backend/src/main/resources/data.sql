@@ -22,6 +22,12 @@ INSERT IGNORE INTO activities (id, assigned_user_id, assigned_by_user_id, assign
 (11, 3, 1, 'mike', 'Budget approval review', '2025-08-15', 'Review and approve budget requests from team leads', 'SCHEDULED', 'HIGH', NOW(), NOW()),
 (12, 3, 2, 'mike', 'Client presentation prep', '2025-08-16', 'Prepare presentation materials for client meeting', 'PENDING', 'MEDIUM', NOW(), NOW());
 
+-- Fill in the denormalized assigner username
+UPDATE activities SET assigned_by_name = (SELECT u.username FROM users u WHERE u.id = activities.assigned_by_user_id) WHERE assigned_by_name IS NULL AND assigned_by_user_id IS NOT NULL;
+
+-- Move the activity id sequence past the seeded ids (pooled blocks of 50)
+UPDATE activities_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 51 FROM activities) WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 50 FROM activities);
+
 -- Insert sample events
 INSERT IGNORE INTO events (id, date, title, time, description, created_at, updated_at) VALUES
 (1, '2024-01-20', 'Design Review Meeting', '10:00 AM', 'Weekly design review and feedback session', NOW(), NOW()),
@@ -0,0 +1,7 @@
+-- Per-instance heartbeat used to measure read replica lag
+
+create table replica_heartbeats (
+    instance varchar(32) not null,
+    beat_at datetime(6) not null,
+    primary key (instance)
+) engine=InnoDB;
@@ -0,0 +1,19 @@
+-- Log of deleted task and event ids, so instances notice deletes made elsewhere without counting rows
+
+create table row_deletions (
+    id bigint not null auto_increment,
+    deleted_at datetime(6) not null,
+    entity_id bigint not null,
+    table_name varchar(64) not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Latest entry and the entries after a given id, per table
+create index idx_row_deletions_table_id on row_deletions (table_name, id);
+
+-- Retention purge
+create index idx_row_deletions_deleted_at on row_deletions (deleted_at);
+
+-- MAX(updated_at) of users is polled like that of activities and events (V8)
+create index idx_users_updated_at
+    on users (updated_at);
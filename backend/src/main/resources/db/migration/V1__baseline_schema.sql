@@ -0,0 +1,87 @@
+-- Schema as it existed when migrations were introduced. Databases that were
+-- already built by ddl-auto are baselined at this version and skip this script.
+
+create table users (
+    completed integer,
+    projects integer,
+    tasks integer,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    username varchar(50) not null,
+    avatar varchar(255),
+    email varchar(255) not null,
+    password_hash varchar(255) not null,
+    role enum ('MANAGER','STAFF_GENERAL','STAFF_DESIGNER','STAFF_DEVELOPER','STAFF_ANALYST','STAFF_COORDINATOR') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table activities (
+    date date not null,
+    assigned_by_user_id bigint,
+    assigned_user_id bigint not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    assigned_user_name varchar(255),
+    description TEXT not null,
+    time varchar(255),
+    title varchar(255) not null,
+    priority enum ('LOW','MEDIUM','HIGH') not null,
+    status enum ('PENDING','IN_PROGRESS','COMPLETED','SCHEDULED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table events (
+    date date not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    description TEXT,
+    time varchar(255),
+    title varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table interactions (
+    id bigint not null auto_increment,
+    timestamp datetime(6) not null,
+    element varchar(255),
+    position TEXT,
+    type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table password_reset_tokens (
+    used bit not null,
+    created_at datetime(6) not null,
+    expiry_date datetime(6) not null,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    token varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table users
+    add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table users
+    add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table password_reset_tokens
+    add constraint UK_71lqwbwtklmljk3qlsugr1mig unique (token);
+
+alter table activities
+    add constraint FKky922isrlk7tl6hgdpbd32k8
+    foreign key (assigned_by_user_id)
+    references users (id);
+
+alter table activities
+    add constraint FK8h0qwisrf9205mj84mf1vl33m
+    foreign key (assigned_user_id)
+    references users (id);
+
+alter table password_reset_tokens
+    add constraint FKk3ndxg5xp6v7wd4gjyusp15gq
+    foreign key (user_id)
+    references users (id);
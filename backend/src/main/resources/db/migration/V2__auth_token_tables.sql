@@ -0,0 +1,56 @@
+-- Token versioning, refresh tokens, the JWT revocation list and hashed reset tokens
+
+alter table users
+    add column token_version integer;
+
+create table refresh_tokens (
+    revoked bit not null,
+    token_version integer not null,
+    used bit not null,
+    created_at datetime(6) not null,
+    expiry_date datetime(6) not null,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    family_id varchar(36) not null,
+    token_hash varchar(64) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_refresh_tokens_family
+    on refresh_tokens (family_id);
+
+create index idx_refresh_tokens_expiry
+    on refresh_tokens (expiry_date);
+
+alter table refresh_tokens
+    add constraint UK_o2mlirhldriil2y7krapq4frt unique (token_hash);
+
+alter table refresh_tokens
+    add constraint FK1lih5y2npsf8u5o3vhdb9y0os
+    foreign key (user_id)
+    references users (id);
+
+create table revoked_tokens (
+    expires_at datetime(6) not null,
+    revoked_at datetime(6) not null,
+    token_id varchar(36) not null,
+    primary key (token_id)
+) engine=InnoDB;
+
+create index idx_revoked_tokens_expires_at
+    on revoked_tokens (expires_at);
+
+create index idx_revoked_tokens_revoked_at
+    on revoked_tokens (revoked_at);
+
+-- Reset tokens are now stored as SHA-256 digests; links issued before that can no longer match
+delete from password_reset_tokens;
+
+alter table password_reset_tokens
+    modify token varchar(64) not null;
+
+create index idx_password_reset_tokens_user_live
+    on password_reset_tokens (user_id, used, expiry_date);
+
+create index idx_password_reset_tokens_expiry
+    on password_reset_tokens (expiry_date);
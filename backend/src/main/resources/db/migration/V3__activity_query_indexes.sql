@@ -0,0 +1,28 @@
+-- Composite indexes for the ActivityRepository finders. Each ends with the list ordering
+-- "date ASC, created_at DESC, id DESC" (id is the keyset tie-break), so a finder that filters on
+-- the leading columns and orders that way, or by a prefix of it, reads rows in index order and
+-- stops at its LIMIT instead of sorting. MySQL 8 honours the DESC columns; older servers parse
+-- and ignore them, which leaves the lookups indexed but the ordering sorted.
+-- The history lists order by date DESC, created_at DESC: no single direction of these indexes
+-- matches, so they use idx_activities_user_date for the lookup and sort the user's past tasks.
+-- users.username is already covered by its unique constraint for the others-incoming join.
+
+-- findByAssignedUserName*, findUserTasks* and findHistory*
+create index idx_activities_user_date
+    on activities (assigned_user_name, date, created_at desc, id desc);
+
+-- findUserTasksByStatus*
+create index idx_activities_user_status_date
+    on activities (assigned_user_name, status, date, created_at desc, id desc);
+
+-- findByStatus* and findOverdueTasks
+create index idx_activities_status_date
+    on activities (status, date, created_at desc, id desc);
+
+-- findByAssignedUser* and findByAssignedUserId* (also serves the assigned_user_id foreign key)
+create index idx_activities_assignee_date
+    on activities (assigned_user_id, date, created_at desc, id desc);
+
+-- findByDate*, findByDateBetween* and findOthersIncoming*
+create index idx_activities_date
+    on activities (date, created_at desc, id desc);
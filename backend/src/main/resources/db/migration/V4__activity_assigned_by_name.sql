@@ -0,0 +1,9 @@
+-- Denormalized assigner username, kept in sync like assigned_user_name so task lists
+-- do not need to load or join the assigning user
+
+alter table activities
+    add column assigned_by_name varchar(255);
+
+update activities
+    set assigned_by_name = (select u.username from users u where u.id = activities.assigned_by_user_id)
+    where assigned_by_user_id is not null;
@@ -0,0 +1,11 @@
+-- Table-backed sequence for activity ids (MySQL has no native sequences), so
+-- Hibernate can pre-allocate ids in blocks of 50 and batch inserts.
+-- Hibernate's pooled optimizer treats the stored value as the top of the next
+-- block, so start a full block above the current maximum id.
+
+create table activities_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into activities_seq (next_val)
+    select coalesce(max(id), 0) + 51 from activities;
@@ -0,0 +1,11 @@
+-- Lease locks that keep @LeaseLocked scheduled jobs to one instance at a time
+
+create table job_leases (
+    fencing_token bigint not null,
+    heartbeat_at datetime(6),
+    lease_until datetime(6) not null,
+    locked_at datetime(6),
+    name varchar(64) not null,
+    owner varchar(128),
+    primary key (name)
+) engine=InnoDB;
@@ -0,0 +1,5 @@
+-- Indexed event search. The ngram parser splits text into overlapping character pairs, so a
+-- quoted boolean-mode query matches substrings the way the old '%query%' LIKE search did.
+
+create fulltext index ft_events_title_description
+    on events (title, description) with parser ngram;
@@ -0,0 +1,7 @@
+-- MAX(updated_at) is polled to detect writes made by other instances
+
+create index idx_activities_updated_at
+    on activities (updated_at);
+
+create index idx_events_updated_at
+    on events (updated_at);
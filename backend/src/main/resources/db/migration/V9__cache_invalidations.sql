@@ -0,0 +1,12 @@
+-- Change log that carries second-level cache evictions between instances
+
+create table cache_invalidations (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    entity_id bigint,
+    entity_name varchar(128) not null,
+    origin varchar(32) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_cache_invalidations_created_at on cache_invalidations (created_at);
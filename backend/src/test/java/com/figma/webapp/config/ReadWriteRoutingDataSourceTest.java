@@ -0,0 +1,214 @@
+package com.figma.webapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.figma.webapp.dto.ActivityDto;
+import com.figma.webapp.entity.Activity;
+import com.figma.webapp.entity.User;
+import com.figma.webapp.entity.User.UserRole;
+import com.figma.webapp.repository.ActivityRepository;
+import com.figma.webapp.repository.UserRepository;
+import com.figma.webapp.security.JwtUtil;
+import com.figma.webapp.service.ActivityService;
+import com.figma.webapp.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Routes against two separate H2 databases standing in for the primary and the replica. The
+ * replica starts as a copy of the primary whose task descriptions are then changed, so every
+ * read shows where it was served from. A negative max-lag-ms skips the lag measurement, which
+ * needs real replication.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:figma_routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=jdbc:h2:mem:figma_routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "app.datasource.replica.max-lag-ms=-1",
+        "app.datasource.replica.pin-window-ms=60000",
+        "app.l2-cache.enabled=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadWriteRoutingDataSourceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 2, 2);
+    private static final String ON_PRIMARY = "on-primary";
+    private static final String ON_REPLICA = "on-replica";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private User manager;
+    private User staff;
+    private Path script;
+
+    @BeforeAll
+    void seed() throws Exception {
+        manager = saveUser("manager", UserRole.MANAGER);
+        staff = saveUser("staff", UserRole.STAFF_GENERAL);
+        Activity activity = new Activity();
+        activity.setTitle("Task");
+        activity.setDate(DAY);
+        activity.setDescription(ON_PRIMARY);
+        activity.setAssignedUser(staff);
+        activity.setAssignedBy(manager);
+        activityRepository.save(activity);
+
+        // The replica schema and rows are a copy of the primary's, with different descriptions
+        script = Files.createTempFile("replica", ".sql");
+        new JdbcTemplate(primaryDataSource).execute("SCRIPT TO '" + script + "'");
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("RUNSCRIPT FROM '" + script + "'");
+        replica.update("UPDATE activities SET description = ?", ON_REPLICA);
+    }
+
+    @AfterAll
+    void deleteScript() throws Exception {
+        Files.deleteIfExists(script);
+    }
+
+    @BeforeEach
+    void clearSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void readOnlyServiceTransactionsReadTheReplica() throws Exception {
+        assertEquals(List.of(ON_REPLICA), descriptions(activityService.getActivitiesByDate(DAY)));
+        assertEquals(List.of(ON_REPLICA), descriptions(activityService.getAllActivities()));
+
+        String body = getByDate(null).getResponse().getContentAsString();
+        assertTrue(body.contains(ON_REPLICA), body);
+    }
+
+    @Test
+    void repositoryCallsAndWritesUseThePrimary() {
+        // Not started by a service method, so not eligible for the replica
+        assertEquals(ON_PRIMARY, activityRepository.findAll().get(0).getDescription());
+
+        Activity activity = new Activity();
+        activity.setTitle("Task");
+        activity.setDate(DAY.plusDays(1));
+        activity.setDescription("written");
+        activity.setAssignedUser(staff);
+        Activity saved = activityService.save(activity);
+
+        assertEquals(1, count(primaryDataSource, saved.getId()));
+        assertEquals(0, count(replicaDataSource, saved.getId()));
+    }
+
+    @Test
+    void clientsReadTheirOwnWritesFromThePrimary() throws Exception {
+        MvcResult write = mockMvc.perform(post("/tasks/assign")
+                        .header("Authorization", "Bearer " + token(manager))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"assignedUser\":\"staff\",\"date\":\"" + DAY + "\",\"description\":\"new-task\","
+                                + "\"status\":\"PENDING\",\"priority\":\"HIGH\"}"))
+                .andReturn();
+        assertEquals(200, write.getResponse().getStatus(), write.getResponse().getContentAsString());
+        Cookie pin = write.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(pin, "a committed write sets the pin cookie");
+
+        // The pin travels with the client, so any instance keeps its reads on the primary
+        String pinned = getByDate(pin).getResponse().getContentAsString();
+        assertTrue(pinned.contains("new-task") && pinned.contains(ON_PRIMARY), pinned);
+
+        String unpinned = getByDate(null).getResponse().getContentAsString();
+        assertTrue(unpinned.contains(ON_REPLICA) && !unpinned.contains("new-task"), unpinned);
+    }
+
+    @Test
+    void entitiesReadFromTheReplicaStayOutOfTheSecondLevelCache() {
+        assertFalse(userService.findAllUsers().isEmpty());
+        assertFalse(entityManagerFactory.getCache().contains(User.class, staff.getId()));
+
+        // A primary read of the same row is cached as usual
+        userRepository.findById(staff.getId());
+        assertTrue(entityManagerFactory.getCache().contains(User.class, staff.getId()));
+    }
+
+    private MvcResult getByDate(Cookie pin) throws Exception {
+        var request = get("/tasks/by-date").param("date", DAY.toString())
+                .header("Authorization", "Bearer " + token(manager));
+        if (pin != null) {
+            request.cookie(pin);
+        }
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertEquals(200, result.getResponse().getStatus());
+        return result;
+    }
+
+    private static long count(DataSource dataSource, Long id) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM activities WHERE id = ?", Long.class, id);
+    }
+
+    private static List<String> descriptions(List<ActivityDto> tasks) {
+        return tasks.stream().map(ActivityDto::getDescription).toList();
+    }
+
+    private User saveUser(String username, UserRole role) {
+        User user = new User(username, username + "@example.com", "password-hash");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private String token(User user) {
+        return jwtUtil.generateToken(user.getUsername(), user.getRole().name(), user.getId(), user.getTokenVersion());
+    }
+}
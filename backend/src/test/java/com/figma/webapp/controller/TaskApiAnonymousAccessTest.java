@@ -0,0 +1,38 @@
+package com.figma.webapp.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * SecurityConfig lets /tasks/** through without a token, so each team-wide read has to turn
+ * anonymous callers away itself, ahead of the ETag short-circuit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+class TaskApiAnonymousAccessTest {
+
+    private static final String RANGE = "startDate=2026-01-01&endDate=2026-01-31";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void calendarRejectsAnonymousCallers() throws Exception {
+        mockMvc.perform(get("/tasks/calendar?" + RANGE)).andExpect(status().isUnauthorized());
+        // A matching If-None-Match must not turn into a 304 for them either
+        mockMvc.perform(get("/tasks/calendar?" + RANGE).header("If-None-Match", "*")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void calendarSummaryRejectsAnonymousCallers() throws Exception {
+        mockMvc.perform(get("/tasks/calendar/summary?" + RANGE)).andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,68 @@
+package com.figma.webapp.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.figma.webapp.entity.User;
+import com.figma.webapp.entity.User.UserRole;
+import com.figma.webapp.repository.UserRepository;
+import com.figma.webapp.security.JwtUtil;
+
+/**
+ * The cursor endpoints read size + 1 rows, so the requested size is kept to 1..100 rather
+ * than passed through.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:figma_cursor_page_size;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE")
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskApiCursorPageSizeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String token;
+
+    @BeforeAll
+    void seed() {
+        User user = new User("staff", "staff@example.com", "password-hash");
+        user.setRole(UserRole.STAFF_GENERAL);
+        user = userRepository.save(user);
+        token = jwtUtil.generateToken(user.getUsername(), user.getRole().name(), user.getId(), user.getTokenVersion());
+    }
+
+    @Test
+    void cursorPageSizeIsClamped() throws Exception {
+        for (String uri : new String[] {"/tasks/user-tasks", "/tasks/in-progress", "/tasks/history",
+                "/tasks/others-incoming?date=2026-01-01&"}) {
+            String base = uri.endsWith("&") ? uri : uri + "?";
+            expectSize(base + "cursor=&size=0", 1);
+            expectSize(base + "cursor=&size=-5", 1);
+            expectSize(base + "cursor=&size=1000000", 100);
+            expectSize(base + "cursor=&size=20", 20);
+        }
+    }
+
+    private void expectSize(String uri, int size) throws Exception {
+        mockMvc.perform(get(uri).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(size));
+    }
+}
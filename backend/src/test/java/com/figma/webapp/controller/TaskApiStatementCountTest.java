@@ -0,0 +1,170 @@
+package com.figma.webapp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.figma.webapp.entity.Activity;
+import com.figma.webapp.entity.Activity.ActivityPriority;
+import com.figma.webapp.entity.Activity.ActivityStatus;
+import com.figma.webapp.entity.User;
+import com.figma.webapp.entity.User.UserRole;
+import com.figma.webapp.repository.ActivityRepository;
+import com.figma.webapp.repository.UserRepository;
+import com.figma.webapp.security.JwtUtil;
+import com.figma.webapp.support.RecordingStatementInspector;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the SQL statements each task list endpoint runs, so a lazy association touched while
+ * building the response, or a per-row lookup of the assigning user, fails here rather than in
+ * production. The counts do not depend on how many tasks are returned: every user gets several
+ * tasks assigned by someone else, and a per-row query would show up as extra statements.
+ *
+ * open-in-view is off, so a lazy load outside the service transaction fails the request instead
+ * of adding a query; the status check catches that. Each request is sent twice and the second is
+ * counted, after the principal's user row is in the second-level cache.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:figma_statement_count;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.figma.webapp.support.RecordingStatementInspector"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskApiStatementCountTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final int TASKS_PER_USER_AND_DAY = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String managerToken;
+    private String staffToken;
+
+    @BeforeAll
+    void seed() {
+        User manager = saveUser("manager", UserRole.MANAGER);
+        User alice = saveUser("alice", UserRole.STAFF_GENERAL);
+        User bob = saveUser("bob", UserRole.STAFF_DESIGNER);
+
+        List<Activity> activities = new ArrayList<>();
+        for (int day = -2; day <= 2; day++) {
+            for (User assignee : List.of(manager, alice, bob)) {
+                for (int i = 0; i < TASKS_PER_USER_AND_DAY; i++) {
+                    Activity activity = new Activity();
+                    activity.setAssignedUser(assignee);
+                    activity.setAssignedBy(assignee == manager ? alice : manager);
+                    activity.setTitle("Task " + i);
+                    activity.setDate(TODAY.plusDays(day));
+                    activity.setDescription("Description of task " + i + " for " + assignee.getUsername());
+                    activity.setStatus(i == 0 ? ActivityStatus.IN_PROGRESS : ActivityStatus.PENDING);
+                    activity.setPriority(ActivityPriority.MEDIUM);
+                    activities.add(activity);
+                }
+            }
+        }
+        activityRepository.saveAll(activities);
+
+        managerToken = token(manager);
+        staffToken = token(alice);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> taskListsRunAFixedNumberOfStatements() {
+        String today = TODAY.toString();
+        String range = "startDate=" + TODAY.minusDays(2) + "&endDate=" + TODAY.plusDays(2);
+
+        // Offset pages whose first page is not the whole result also run a COUNT query
+        return Stream.of(
+            expect(2, staffToken, "/tasks/user-tasks"),
+            expect(1, staffToken, "/tasks/user-tasks?cursor="),
+            expect(1, staffToken, "/tasks/user-tasks-by-date?date=" + today),
+            expect(1, staffToken, "/tasks/in-progress"),
+            expect(1, staffToken, "/tasks/in-progress?cursor="),
+            expect(2, managerToken, "/tasks/in-progress"),
+            expect(1, managerToken, "/tasks/in-progress?cursor="),
+            expect(1, staffToken, "/tasks/history"),
+            expect(1, staffToken, "/tasks/history?cursor="),
+            expect(2, staffToken, "/tasks/others-incoming?date=" + today),
+            expect(1, staffToken, "/tasks/others-incoming?date=" + today + "&cursor="),
+            expect(1, staffToken, "/tasks/by-date?date=" + today),
+            expect(1, managerToken, "/tasks/by-date?date=" + today),
+            expect(1, staffToken, "/tasks/by-date-detailed?date=" + today),
+            expect(1, staffToken, "/tasks/calendar?" + range),
+            expect(1, staffToken, "/tasks/calendar/summary?" + range),
+            expect(1, managerToken, "/tasks/staff")
+        );
+    }
+
+    private DynamicTest expect(int statements, String token, String uri) {
+        return DynamicTest.dynamicTest(uri, () -> {
+            perform(token, uri);
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            long entityFetches = statistics.getEntityFetchCount();
+            long collectionFetches = statistics.getCollectionFetchCount();
+            RecordingStatementInspector.clear();
+
+            MvcResult result = perform(token, uri);
+
+            List<String> sql = RecordingStatementInspector.statements();
+            String body = result.getResponse().getContentAsString();
+            assertEquals(200, result.getResponse().getStatus(), uri + ": " + body);
+            assertEquals(statements, sql.size(), uri + " ran " + String.join("\n", sql));
+            // Every seeded task has an assigner; the name comes from activities.assigned_by_name, not a join
+            assertFalse(body.contains("\"assignedBy\":null"), uri + " lost the assigning user's name");
+            // Lazy loads of a user or a collection are the per-row queries this test is here to catch
+            assertEquals(0, statistics.getEntityFetchCount() - entityFetches, uri + " loaded an entity lazily");
+            assertEquals(0, statistics.getCollectionFetchCount() - collectionFetches, uri + " loaded a collection lazily");
+        });
+    }
+
+    private MvcResult perform(String token, String uri) throws Exception {
+        return mockMvc.perform(get(uri).header("Authorization", "Bearer " + token)).andReturn();
+    }
+
+    private User saveUser(String username, UserRole role) {
+        User user = new User(username, username + "@example.com", "password-hash");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private String token(User user) {
+        return jwtUtil.generateToken(user.getUsername(), user.getRole().name(), user.getId(), user.getTokenVersion());
+    }
+}
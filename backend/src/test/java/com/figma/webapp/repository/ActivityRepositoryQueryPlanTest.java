@@ -0,0 +1,286 @@
+package com.figma.webapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.figma.webapp.entity.Activity.ActivityStatus;
+import com.figma.webapp.entity.User;
+import com.figma.webapp.support.RecordingStatementInspector;
+
+/**
+ * Runs each ActivityRepository finder once, then EXPLAINs the SQL Hibernate generated for it and
+ * checks which index the database reads activities through.
+ *
+ * The plans come from H2 in MySQL mode with the indexes declared on the Activity entity, which
+ * mirror V3 and V8. H2 proves that every finder has a matching index it can use, but it cannot
+ * stand in for MySQL's cost-based choice on production cardinalities.
+ *
+ * The indexes end with the list ordering "date, created_at DESC, id DESC" so that the keyset
+ * pages read in index order and stop at their LIMIT. H2 only reports "index sorted" when the
+ * ORDER BY starts at the first index column, so sort avoidance is checked where that holds, on
+ * idx_activities_date; on the indexes led by equality columns the same ordering follows from the
+ * index column order and relies on MySQL. The FULLTEXT index on
+ * events (V7) has no H2 equivalent and is not covered. Not checked on purpose: the findAll
+ * variants, which read the whole table by design, and the set-based UPDATE statements.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.figma.webapp.support.RecordingStatementInspector")
+@ActiveProfiles({"dev", "test"})
+class ActivityRepositoryQueryPlanTest {
+
+    private static final String USER_DATE = "idx_activities_user_date";
+    private static final String USER_STATUS_DATE = "idx_activities_user_status_date";
+    private static final String ASSIGNEE_DATE = "idx_activities_assignee_date";
+    // H2 adds its own index for every foreign key; MySQL reuses idx_activities_assignee_date instead
+    private static final String ASSIGNEE_FOREIGN_KEY = "fk";
+    private static final String STATUS_DATE = "idx_activities_status_date";
+    private static final String DATE = "idx_activities_date";
+    private static final String UPDATED_AT = "idx_activities_updated_at";
+    private static final String PRIMARY_KEY = "primary_key";
+    private static final String INDEX_SORTED = "/* index sorted */";
+
+    // The index H2 picked for the activities table, e.g. "public.idx_activities_date: date = ?1"
+    private static final Pattern ACTIVITIES_ACCESS =
+            Pattern.compile("\"activities\" \"\\w+\"\\s*/\\*\\s*public\\.([\\w.]+)", Pattern.CASE_INSENSITIVE);
+
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 15);
+    private static final LocalDateTime TIME = DAY.atStartOfDay();
+    // Page 1 of an empty table makes Spring Data run the count query as well
+    private static final Pageable PAGE = PageRequest.of(1, 20);
+    private static final Pageable LIMIT = PageRequest.of(0, 21);
+    private static final int DESCRIPTION = 100;
+
+    @Autowired
+    private ActivityRepository repository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TestFactory
+    Stream<DynamicTest> finderPlansUseIndexes() {
+        User user = new User("alice", "alice@example.com", "hash");
+        user.setId(1L);
+        ActivityStatus status = ActivityStatus.IN_PROGRESS;
+
+        return Stream.of(
+            // Per-user lists by username
+            expect(USER_DATE, "findByAssignedUserNameOrderByDateAscCreatedAtDesc",
+                    () -> repository.findByAssignedUserNameOrderByDateAscCreatedAtDesc("alice")),
+            expect(USER_DATE, "findByAssignedUserNameOrderByDateAscCreatedAtDesc(page)",
+                    () -> repository.findByAssignedUserNameOrderByDateAscCreatedAtDesc("alice", PAGE)),
+            expect(USER_DATE, "findByAssignedUserNameAndDateBetweenOrderByDateAsc",
+                    () -> repository.findByAssignedUserNameAndDateBetweenOrderByDateAsc("alice", DAY, DAY.plusDays(7))),
+            expect(USER_DATE, "findByAssignedUserNameAndDateOrderByCreatedAtDesc",
+                    () -> repository.findByAssignedUserNameAndDateOrderByCreatedAtDesc("alice", DAY)),
+            expect(USER_DATE, "findByAssignedUserNameAndDateOrderByCreatedAtDesc(page)",
+                    () -> repository.findByAssignedUserNameAndDateOrderByCreatedAtDesc("alice", DAY, PAGE)),
+            expect(USER_DATE, "findByAssignedUserNameAndDateBeforeOrderByDateDescCreatedAtDesc",
+                    () -> repository.findByAssignedUserNameAndDateBeforeOrderByDateDescCreatedAtDesc("alice", DAY, PAGE)),
+            expect(USER_DATE, "findRowsByAssignedUserName",
+                    () -> repository.findRowsByAssignedUserName("alice", DESCRIPTION)),
+            expect(USER_DATE, "findRowsByAssignedUserNameAndDate",
+                    () -> repository.findRowsByAssignedUserNameAndDate("alice", DAY, DESCRIPTION)),
+            expect(USER_DATE, "findRowPageByAssignedUserName",
+                    () -> repository.findRowPageByAssignedUserName("alice", DESCRIPTION, PAGE)),
+            expect(USER_DATE, "findRowPageByAssignedUserNameAndDate",
+                    () -> repository.findRowPageByAssignedUserNameAndDate("alice", DAY, DESCRIPTION, PAGE)),
+            expect(USER_DATE, "findHistoryRowPage",
+                    () -> repository.findHistoryRowPage("alice", DAY, DESCRIPTION, PAGE)),
+            expect(USER_DATE, "findUserTasksFirstPage",
+                    () -> repository.findUserTasksFirstPage("alice", DESCRIPTION, LIMIT)),
+            expect(USER_DATE, "findUserTasksAfter",
+                    () -> repository.findUserTasksAfter("alice", DAY, TIME, 10L, DESCRIPTION, LIMIT)),
+            expect(USER_DATE, "findHistoryFirstPage",
+                    () -> repository.findHistoryFirstPage("alice", DAY, DESCRIPTION, LIMIT)),
+            expect(USER_DATE, "findHistoryAfter",
+                    () -> repository.findHistoryAfter("alice", DAY, DAY.minusDays(1), TIME, 10L, DESCRIPTION, LIMIT)),
+
+            // Per-user status lists
+            expect(USER_STATUS_DATE, "findByAssignedUserNameAndStatusOrderByDateAscCreatedAtDesc",
+                    () -> repository.findByAssignedUserNameAndStatusOrderByDateAscCreatedAtDesc("alice", status, PAGE)),
+            expect(USER_STATUS_DATE, "findRowPageByAssignedUserNameAndStatus",
+                    () -> repository.findRowPageByAssignedUserNameAndStatus("alice", status, DESCRIPTION, PAGE)),
+            expect(USER_STATUS_DATE, "findUserTasksByStatusFirstPage",
+                    () -> repository.findUserTasksByStatusFirstPage("alice", status, DESCRIPTION, LIMIT)),
+            expect(USER_STATUS_DATE, "findUserTasksByStatusAfter",
+                    () -> repository.findUserTasksByStatusAfter("alice", status, DAY, TIME, 10L, DESCRIPTION, LIMIT)),
+
+            // Per-user lists by the assigned user's id
+            expect(ASSIGNEE_DATE, "findByAssignedUserOrderByDateAscCreatedAtDesc",
+                    () -> repository.findByAssignedUserOrderByDateAscCreatedAtDesc(user)),
+            expect(ASSIGNEE_DATE, "findByAssignedUserOrderByDateAscCreatedAtDesc(page)",
+                    () -> repository.findByAssignedUserOrderByDateAscCreatedAtDesc(user, PAGE)),
+            expect(ASSIGNEE_DATE, "findByAssignedUserAndStatusOrderByDateAscCreatedAtDesc",
+                    () -> repository.findByAssignedUserAndStatusOrderByDateAscCreatedAtDesc(user, status, PAGE)),
+            expect(ASSIGNEE_DATE, "findByAssignedUserAndDateBetweenOrderByDateAsc",
+                    () -> repository.findByAssignedUserAndDateBetweenOrderByDateAsc(user, DAY, DAY.plusDays(7))),
+            expect(ASSIGNEE_DATE, "findByAssignedUserAndDateOrderByCreatedAtDesc",
+                    () -> repository.findByAssignedUserAndDateOrderByCreatedAtDesc(user, DAY)),
+            expect(ASSIGNEE_DATE, "findByAssignedUserIdOrderByDateAscCreatedAtDesc",
+                    () -> repository.findByAssignedUserIdOrderByDateAscCreatedAtDesc(1L)),
+            expect(ASSIGNEE_DATE, "findByAssignedUserIdOrderByDateAscCreatedAtDesc(page)",
+                    () -> repository.findByAssignedUserIdOrderByDateAscCreatedAtDesc(1L, PAGE)),
+            expect(ASSIGNEE_DATE, "findByAssignedUserIdAndStatusOrderByDateAscCreatedAtDesc",
+                    () -> repository.findByAssignedUserIdAndStatusOrderByDateAscCreatedAtDesc(1L, status, PAGE)),
+            expect(ASSIGNEE_DATE, "findByAssignedUserIdAndDateBetweenOrderByDateAsc",
+                    () -> repository.findByAssignedUserIdAndDateBetweenOrderByDateAsc(1L, DAY, DAY.plusDays(7))),
+            expect(ASSIGNEE_DATE, "findByAssignedUserIdAndDateOrderByCreatedAtDesc",
+                    () -> repository.findByAssignedUserIdAndDateOrderByCreatedAtDesc(1L, DAY)),
+
+            // Team-wide status lists and the overdue job
+            expect(STATUS_DATE, "findByStatusOrderByDateAscCreatedAtDesc",
+                    () -> repository.findByStatusOrderByDateAscCreatedAtDesc(status)),
+            expect(STATUS_DATE, "findByStatusOrderByDateAscCreatedAtDesc(page)",
+                    () -> repository.findByStatusOrderByDateAscCreatedAtDesc(status, PAGE)),
+            expect(STATUS_DATE, "findRowsByStatus",
+                    () -> repository.findRowsByStatus(status, DESCRIPTION)),
+            expect(STATUS_DATE, "findRowPageByStatus",
+                    () -> repository.findRowPageByStatus(status, DESCRIPTION, PAGE)),
+            expect(STATUS_DATE, "findByStatusFirstPage",
+                    () -> repository.findByStatusFirstPage(status, DESCRIPTION, LIMIT)),
+            expect(STATUS_DATE, "findByStatusAfter",
+                    () -> repository.findByStatusAfter(status, DAY, TIME, 10L, DESCRIPTION, LIMIT)),
+            expect(STATUS_DATE, "countByStatus",
+                    () -> repository.countByStatus(status)),
+            expectAnyIndex("findOverdueTaskIds",
+                    () -> repository.findOverdueTaskIds(DAY, ActivityStatus.COMPLETED, 0L, LIMIT)),
+            expectAnyIndex("countOverdueTasks",
+                    () -> repository.countOverdueTasks(DAY, ActivityStatus.COMPLETED)),
+
+            // Team-wide date lookups, calendar and others-incoming
+            expect(DATE, "findByDateOrderByCreatedAtDesc",
+                    () -> repository.findByDateOrderByCreatedAtDesc(DAY)),
+            expectSorted(DATE, "findByDateBetweenOrderByDateAsc",
+                    () -> repository.findByDateBetweenOrderByDateAsc(DAY, DAY.plusDays(30))),
+            expect(DATE, "findRowsByDate",
+                    () -> repository.findRowsByDate(DAY, DESCRIPTION)),
+            expectSorted(DATE, "findRowsByDateBetween",
+                    () -> repository.findRowsByDateBetween(DAY, DAY.plusDays(30), DESCRIPTION)),
+            expect(DATE, "countByDateBetween",
+                    () -> repository.countByDateBetween(DAY, DAY.plusDays(30))),
+            expect(DATE, "countByDateBetweenPerUser",
+                    () -> repository.countByDateBetweenPerUser(DAY, DAY.plusDays(30))),
+            expect(DATE, "findOthersIncomingTasks",
+                    () -> repository.findOthersIncomingTasks("alice", DAY, PAGE)),
+            expect(DATE, "findOthersIncomingRowPage",
+                    () -> repository.findOthersIncomingRowPage("alice", DAY, DESCRIPTION, PAGE)),
+            expectSorted(DATE, "findOthersIncomingFirstPage",
+                    () -> repository.findOthersIncomingFirstPage("alice", DAY, DESCRIPTION, LIMIT)),
+            expectSorted(DATE, "findOthersIncomingAfter",
+                    () -> repository.findOthersIncomingAfter("alice", DAY, DAY, TIME, 10L, DESCRIPTION, LIMIT)),
+
+            // Change polling
+            expect(UPDATED_AT, "findLatestUpdate",
+                    () -> repository.findLatestUpdate()),
+            expect(UPDATED_AT, "findRowsUpdatedAfter",
+                    () -> repository.findRowsUpdatedAfter(TIME, DESCRIPTION, LIMIT)),
+
+            // Lookups by id
+            expect(PRIMARY_KEY, "findRowsByIdIn",
+                    () -> repository.findRowsByIdIn(List.of(1L, 2L), DESCRIPTION)),
+            expect(PRIMARY_KEY, "findSearchRowsAfter",
+                    () -> repository.findSearchRowsAfter(0L, LIMIT)),
+            expect(PRIMARY_KEY, "findSearchRowsByIdIn",
+                    () -> repository.findSearchRowsByIdIn(List.of(1L, 2L)))
+        );
+    }
+
+    private DynamicTest expect(String index, String finder, Runnable call) {
+        return DynamicTest.dynamicTest(finder, () -> {
+            for (String access : activitiesAccess(call)) {
+                boolean matches = access.startsWith(index)
+                        || (index.equals(ASSIGNEE_DATE) && access.startsWith(ASSIGNEE_FOREIGN_KEY));
+                assertTrue(matches, finder + " reads activities through " + access + ", expected " + index);
+            }
+        });
+    }
+
+    // The index must also deliver the rows in ORDER BY order, so no sort step runs
+    private DynamicTest expectSorted(String index, String finder, Runnable call) {
+        return DynamicTest.dynamicTest(finder, () -> {
+            for (String plan : plans(call)) {
+                String access = activitiesAccess(plan);
+                assertTrue(access.startsWith(index), finder + " reads activities through " + access + ", expected " + index);
+                assertTrue(plan.contains(INDEX_SORTED), finder + " sorts its rows:\n" + plan);
+            }
+        });
+    }
+
+    private DynamicTest expectAnyIndex(String finder, Runnable call) {
+        return DynamicTest.dynamicTest(finder, () -> {
+            for (String access : activitiesAccess(call)) {
+                assertFalse(access.endsWith("tableScan"), finder + " scans the activities table");
+            }
+        });
+    }
+
+    // Runs the finder and returns how each of its statements reads the activities table
+    private List<String> activitiesAccess(Runnable call) throws Exception {
+        List<String> access = new ArrayList<>();
+        for (String plan : plans(call)) {
+            access.add(activitiesAccess(plan));
+        }
+        return access;
+    }
+
+    // Runs the finder and returns the plan of each of its statements
+    private List<String> plans(Runnable call) throws Exception {
+        RecordingStatementInspector.clear();
+        call.run();
+        List<String> statements = RecordingStatementInspector.statements();
+        assertFalse(statements.isEmpty(), "no SQL was executed");
+
+        List<String> plans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : statements) {
+                plans.add(explain(connection, sql));
+            }
+        }
+        assertEquals(statements.size(), plans.size());
+        return plans;
+    }
+
+    private static String activitiesAccess(String plan) {
+        Matcher matcher = ACTIVITIES_ACCESS.matcher(plan);
+        assertTrue(matcher.find(), "no activities access in plan:\n" + plan);
+        String access = matcher.group(1).toLowerCase();
+        assertFalse(matcher.find(), "activities read twice in plan:\n" + plan);
+        return access;
+    }
+
+    private static String explain(Connection connection, String sql) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            // H2 plans with unbound parameters; the values only matter to the cost estimate
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getString(1);
+            }
+        }
+    }
+}
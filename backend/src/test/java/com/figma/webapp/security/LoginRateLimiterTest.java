@@ -0,0 +1,70 @@
+package com.figma.webapp.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginRateLimiterTest {
+
+    private static final int ACCOUNT_CAPACITY = 5;
+    private static final int ATTEMPTS = 200;
+
+    @Test
+    void concurrentAttemptsNeverExceedTheBucket() throws Exception {
+        LoginRateLimiter limiter = limiter();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < ATTEMPTS; i++) {
+                // Different IPs, one account: only the account bucket can stop them
+                String ip = "10.0.0." + i;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return limiter.tryAcquire("login", ip, "Alice");
+                }));
+            }
+            start.countDown();
+
+            int admitted = 0;
+            for (Future<Long> result : results) {
+                if (result.get(10, TimeUnit.SECONDS) == 0) {
+                    admitted++;
+                }
+            }
+            assertEquals(ACCOUNT_CAPACITY, admitted);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static LoginRateLimiter limiter() {
+        LoginRateLimiter limiter = new LoginRateLimiter();
+        ReflectionTestUtils.setField(limiter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "ipCapacity", 20);
+        ReflectionTestUtils.setField(limiter, "ipRefillPerMinute", 10.0);
+        ReflectionTestUtils.setField(limiter, "accountCapacity", ACCOUNT_CAPACITY);
+        // No refill while the test runs
+        ReflectionTestUtils.setField(limiter, "accountRefillPerMinute", 0.0001);
+        ReflectionTestUtils.setField(limiter, "accountLockoutThreshold", 5);
+        ReflectionTestUtils.setField(limiter, "ipLockoutThreshold", 20);
+        ReflectionTestUtils.setField(limiter, "lockoutBaseSeconds", 30L);
+        ReflectionTestUtils.setField(limiter, "lockoutMaxSeconds", 900L);
+        ReflectionTestUtils.setField(limiter, "maxTrackedKeys", 1000L);
+        ReflectionTestUtils.setField(limiter, "idleExpiryMinutes", 30L);
+        limiter.init();
+        return limiter;
+    }
+}
@@ -0,0 +1,76 @@
+package com.figma.webapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.figma.webapp.entity.Event;
+import com.figma.webapp.entity.RowDeletion;
+import com.figma.webapp.repository.EventRepository;
+import com.figma.webapp.repository.RowDeletionRepository;
+import com.figma.webapp.service.EventSearchIndex.Hit;
+import com.figma.webapp.support.RecordingStatementInspector;
+
+/**
+ * Writes made straight through the repositories stand in for another instance's; reconcile
+ * has to find them with indexed lookups only. H2 has no FULLTEXT index, so the in-memory
+ * index is active.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:figma_event_search;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.figma.webapp.support.RecordingStatementInspector"
+})
+@ActiveProfiles({"dev", "test"})
+class EventSearchIndexTest {
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RowDeletionRepository rowDeletionRepository;
+
+    @Test
+    void reconcileFollowsWritesMadeElsewhere() {
+        assertTrue(eventSearchIndex.isReady());
+        Event kept = eventRepository.save(event());
+        Event deleted = eventRepository.save(event());
+        eventSearchIndex.reload();
+
+        eventRepository.deleteById(deleted.getId());
+        rowDeletionRepository.save(new RowDeletion(RowDeletionLog.EVENTS, deleted.getId(), LocalDateTime.now()));
+        RecordingStatementInspector.clear();
+        eventSearchIndex.reconcile();
+        List<String> sql = RecordingStatementInspector.statements();
+        assertFalse(sql.stream().anyMatch(statement -> statement.toLowerCase().contains("count(")), String.join("\n", sql));
+        assertEquals(List.of(kept.getId()), search());
+
+        Event inserted = eventRepository.save(event());
+        eventSearchIndex.reconcile();
+        assertEquals(List.of(kept.getId(), inserted.getId()), search());
+    }
+
+    private List<Long> search() {
+        return eventSearchIndex.search("workshop", 0, 10).getHits().stream().map(Hit::getId).sorted().toList();
+    }
+
+    private static Event event() {
+        Event event = new Event();
+        event.setTitle("Workshop");
+        event.setDescription("Design workshop");
+        event.setDate(LocalDate.of(2026, 3, 2));
+        return event;
+    }
+}
@@ -0,0 +1,76 @@
+package com.figma.webapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.figma.webapp.repository.JobLeaseRepository;
+import com.figma.webapp.service.JobLeaseService.Lease;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Two lease services with their own owners stand in for two instances sharing job_leases. The
+ * second one fires the same job just after the first has already finished and released it.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:figma_job_lease;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE")
+@ActiveProfiles({"dev", "test"})
+class JobLeaseServiceTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void releasedLeaseIsHeldForTheMinimumHold() {
+        JobLeaseService first = node("node-a", 60_000);
+        JobLeaseService second = node("node-b", 60_000);
+
+        Optional<Lease> lease = first.tryAcquire("held-job", LEASE);
+        assertTrue(lease.isPresent());
+        first.release(lease.get());
+
+        assertTrue(second.tryAcquire("held-job", LEASE).isEmpty(), "a late instance ran the job again");
+    }
+
+    @Test
+    void releasedLeaseIsFreeOnceTheMinimumHoldHasPassed() {
+        JobLeaseService first = node("node-a", 0);
+        JobLeaseService second = node("node-b", 0);
+
+        Optional<Lease> lease = first.tryAcquire("short-hold-job", LEASE);
+        assertTrue(lease.isPresent());
+        first.release(lease.get());
+
+        Optional<Lease> next = second.tryAcquire("short-hold-job", LEASE);
+        assertTrue(next.isPresent());
+        second.release(next.get());
+    }
+
+    private JobLeaseService node(String owner, long minHoldMs) {
+        JobLeaseService service = new JobLeaseService();
+        ReflectionTestUtils.setField(service, "jobLeaseRepository", jobLeaseRepository);
+        ReflectionTestUtils.setField(service, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "owner", owner);
+        ReflectionTestUtils.setField(service, "minHoldMs", minHoldMs);
+        service.init();
+        return service;
+    }
+}
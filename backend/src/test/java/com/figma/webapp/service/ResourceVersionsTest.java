@@ -0,0 +1,103 @@
+package com.figma.webapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.figma.webapp.entity.Activity;
+import com.figma.webapp.entity.User;
+import com.figma.webapp.entity.User.UserRole;
+import com.figma.webapp.repository.ActivityRepository;
+import com.figma.webapp.repository.EventRepository;
+import com.figma.webapp.repository.InteractionRepository;
+import com.figma.webapp.repository.UserRepository;
+import com.figma.webapp.support.RecordingStatementInspector;
+
+/**
+ * The application's ResourceVersions stands in for the instance that takes a write, and a second
+ * one wired to the same database for any other instance.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:figma_resource_versions;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.figma.webapp.support.RecordingStatementInspector"
+})
+@ActiveProfiles({"dev", "test"})
+class ResourceVersionsTest {
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private RowDeletionLog rowDeletionLog;
+
+    @Test
+    void instancesAgreeOnTagsAndSeeEachOthersDeletes() {
+        User user = new User("alice", "alice@example.com", "password-hash");
+        user.setRole(UserRole.STAFF_GENERAL);
+        user = userRepository.save(user);
+        Activity older = activityRepository.save(task(user, "older"));
+        activityRepository.save(task(user, "newer"));
+
+        ResourceVersions other = otherInstance();
+        resourceVersions.syncWithDatabase();
+        String before = resourceVersions.tasksTag();
+        assertEquals(before, other.tasksTag());
+        assertEquals(resourceVersions.userTasksTag("alice"), other.userTasksTag("alice"));
+        assertEquals(resourceVersions.analyticsTag(), other.analyticsTag());
+
+        // Neither the latest update nor the highest id moves with this delete
+        activityService.deleteActivity(older.getId());
+        String after = resourceVersions.tasksTag();
+        assertNotEquals(before, after);
+
+        RecordingStatementInspector.clear();
+        other.syncWithDatabase();
+        List<String> sql = RecordingStatementInspector.statements();
+        assertEquals(after, other.tasksTag());
+        assertFalse(sql.stream().anyMatch(statement -> statement.toLowerCase().contains("count(")), String.join("\n", sql));
+    }
+
+    private ResourceVersions otherInstance() {
+        ResourceVersions other = new ResourceVersions();
+        ReflectionTestUtils.setField(other, "activityRepository", activityRepository);
+        ReflectionTestUtils.setField(other, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(other, "userRepository", userRepository);
+        ReflectionTestUtils.setField(other, "interactionRepository", interactionRepository);
+        ReflectionTestUtils.setField(other, "rowDeletionLog", rowDeletionLog);
+        return other;
+    }
+
+    private static Activity task(User user, String title) {
+        Activity activity = new Activity();
+        activity.setTitle(title);
+        activity.setDescription(title);
+        activity.setDate(LocalDate.of(2026, 3, 2));
+        activity.setAssignedUser(user);
+        return activity;
+    }
+}
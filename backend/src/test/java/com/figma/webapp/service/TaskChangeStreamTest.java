@@ -0,0 +1,105 @@
+package com.figma.webapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.figma.webapp.entity.Activity;
+import com.figma.webapp.entity.RowDeletion;
+import com.figma.webapp.entity.User;
+import com.figma.webapp.entity.User.UserRole;
+import com.figma.webapp.repository.ActivityRepository;
+import com.figma.webapp.repository.RowDeletionRepository;
+import com.figma.webapp.repository.UserRepository;
+import com.figma.webapp.security.JwtUtil;
+import com.figma.webapp.support.RecordingStatementInspector;
+
+/**
+ * A task deleted by another instance, i.e. straight through the repositories, reaches a
+ * subscriber here as a "deleted" delta on the next poll. The poll interval is set long enough
+ * that only the test calls pollDatabase.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:figma_task_stream;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.figma.webapp.support.RecordingStatementInspector",
+        "app.task-stream.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+class TaskChangeStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskChangeStream taskChangeStream;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private RowDeletionRepository rowDeletionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void deletesMadeElsewhereReachSubscribers() throws Exception {
+        User user = new User("alice", "alice@example.com", "password-hash");
+        user.setRole(UserRole.STAFF_GENERAL);
+        user = userRepository.save(user);
+        Activity activity = new Activity();
+        activity.setTitle("Task");
+        activity.setDescription("Task");
+        activity.setDate(LocalDate.of(2026, 3, 2));
+        activity.setAssignedUser(user);
+        Long id = activityRepository.save(activity).getId();
+
+        MvcResult stream = mockMvc.perform(get("/tasks/stream").header("Authorization", "Bearer "
+                        + jwtUtil.generateToken(user.getUsername(), user.getRole().name(), user.getId(), user.getTokenVersion())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // The first poll only records where the log and the updates stand
+        taskChangeStream.pollDatabase();
+
+        activityRepository.deleteById(id);
+        rowDeletionRepository.save(new RowDeletion(RowDeletionLog.ACTIVITIES, id, LocalDateTime.now()));
+
+        RecordingStatementInspector.clear();
+        taskChangeStream.pollDatabase();
+        List<String> sql = RecordingStatementInspector.statements();
+        assertFalse(sql.stream().anyMatch(statement -> statement.toLowerCase().contains("count(")), String.join("\n", sql));
+
+        String expected = "\"type\":\"deleted\",\"id\":" + id;
+        String body = "";
+        for (int i = 0; i < 50 && !body.contains(expected); i++) {
+            Thread.sleep(100);
+            body = stream.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains("event:deleted") && body.contains(expected), body);
+
+        // Read again through the look-back, but not sent twice
+        taskChangeStream.pollDatabase();
+        Thread.sleep(200);
+        body = stream.getResponse().getContentAsString();
+        assertEquals(body.indexOf(expected), body.lastIndexOf(expected), body);
+    }
+}
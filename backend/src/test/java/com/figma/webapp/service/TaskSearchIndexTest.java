@@ -0,0 +1,96 @@
+package com.figma.webapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.figma.webapp.entity.Activity;
+import com.figma.webapp.entity.RowDeletion;
+import com.figma.webapp.entity.User;
+import com.figma.webapp.entity.User.UserRole;
+import com.figma.webapp.repository.ActivityRepository;
+import com.figma.webapp.repository.RowDeletionRepository;
+import com.figma.webapp.repository.UserRepository;
+import com.figma.webapp.service.TaskSearchIndex.Hit;
+import com.figma.webapp.support.RecordingStatementInspector;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Writes made straight through the repositories stand in for another instance's; reconcile
+ * has to find them with indexed lookups only.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:figma_task_search;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.figma.webapp.support.RecordingStatementInspector",
+        "app.task-search.enabled=true"
+})
+@ActiveProfiles({"dev", "test"})
+class TaskSearchIndexTest {
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private RowDeletionRepository rowDeletionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void reconcileFollowsWritesMadeElsewhere() {
+        User user = new User("alice", "alice@example.com", "password-hash");
+        user.setRole(UserRole.STAFF_GENERAL);
+        user = userRepository.save(user);
+        Activity kept = activityRepository.save(task(user));
+        Activity deleted = activityRepository.save(task(user));
+        taskSearchIndex.reload();
+        double reloads = reloads();
+
+        activityRepository.deleteById(deleted.getId());
+        rowDeletionRepository.save(new RowDeletion(RowDeletionLog.ACTIVITIES, deleted.getId(), LocalDateTime.now()));
+        RecordingStatementInspector.clear();
+        taskSearchIndex.reconcile();
+        List<String> sql = RecordingStatementInspector.statements();
+        assertFalse(sql.stream().anyMatch(statement -> statement.toLowerCase().contains("count(")), String.join("\n", sql));
+        // The delete is applied in place
+        assertEquals(List.of(kept.getId()), search());
+        assertEquals(reloads, reloads());
+
+        Activity inserted = activityRepository.save(task(user));
+        taskSearchIndex.reconcile();
+        assertEquals(List.of(inserted.getId(), kept.getId()), search());
+    }
+
+    private List<Long> search() {
+        return taskSearchIndex.search("invoice", null, null, null, null, 0, 10).getHits().stream().map(Hit::getId).toList();
+    }
+
+    private double reloads() {
+        return meterRegistry.get("tasks.search.reloads").counter().count();
+    }
+
+    private static Activity task(User user) {
+        Activity activity = new Activity();
+        activity.setTitle("Invoice");
+        activity.setDescription("Send the invoice");
+        activity.setDate(LocalDate.of(2026, 3, 2));
+        activity.setAssignedUser(user);
+        return activity;
+    }
+}
@@ -0,0 +1,30 @@
+package com.figma.webapp.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL Hibernate prepares on the calling thread, so tests can count statements or
+ * inspect their plans without picking up the scheduled jobs' queries. Enable with
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector set to this class.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> statements = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        statements.get().add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        statements.get().clear();
+    }
+
+    public static List<String> statements() {
+        return new ArrayList<>(statements.get());
+    }
+}